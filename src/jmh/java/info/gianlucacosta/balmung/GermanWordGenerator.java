@@ -0,0 +1,100 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung;
+
+import java.util.Random;
+
+/**
+ * Generates deterministic, German-like words for benchmarks.
+ */
+public class GermanWordGenerator {
+    private static final String[] ONSETS = {
+            "b", "d", "f", "g", "h", "k", "l", "m", "n", "p", "r", "s", "t", "w", "z",
+            "br", "fl", "gr", "kl", "pf", "sch", "schw", "sp", "st", "str", "tr", "z"
+    };
+
+    private static final String[] UMLAUTABLE_NUCLEI = {
+            "a", "o", "u", "au", "a", "o", "u"
+    };
+
+    private static final String[] OTHER_NUCLEI = {
+            "e", "i", "ie", "ei", "eu", "ä", "ö", "ü"
+    };
+
+    private static final String[] CODAS = {
+            "", "", "", "ch", "ck", "ft", "g", "l", "ld", "m", "n", "nd", "ng", "r", "rt", "s", "ß", "t", "tz"
+    };
+
+
+    private final Random random;
+
+
+    public GermanWordGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+
+    /**
+     * Creates a word.
+     *
+     * @param minLength       The minimum length of the word
+     * @param withUmlautVowel true if the word must contain a vowel receiving umlaut, false if it must contain none
+     * @return A capitalized word, for example a compound noun when long enough
+     */
+    public String nextWord(int minLength, boolean withUmlautVowel) {
+        StringBuilder word = new StringBuilder();
+
+        boolean umlautVowelAdded = false;
+
+        while (word.length() < minLength || (withUmlautVowel && !umlautVowelAdded)) {
+            word.append(pick(ONSETS));
+
+            if (withUmlautVowel && (!umlautVowelAdded || random.nextBoolean())) {
+                word.append(pick(UMLAUTABLE_NUCLEI));
+                umlautVowelAdded = true;
+            } else {
+                word.append(pick(OTHER_NUCLEI));
+            }
+
+            word.append(pick(CODAS));
+        }
+
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+
+        return word.toString();
+    }
+
+
+    public String[] nextWords(int count, int minLength, boolean withUmlautVowel) {
+        String[] words = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            words[i] = nextWord(minLength, withUmlautVowel);
+        }
+
+        return words;
+    }
+
+
+    private String pick(String[] items) {
+        return items[random.nextInt(items.length)];
+    }
+}
@@ -0,0 +1,108 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung;
+
+import info.gianlucacosta.balmung.lexicon.*;
+
+import java.util.*;
+
+/**
+ * Generates deterministic lexicons for benchmarks: 80% nouns with a full declension,
+ * 10% verbs and 10% adjectives - each call returning lemmas with distinct expressions.
+ */
+public class LexiconGenerator {
+    private static final String[] CATEGORIES = {
+            "Alltag", "Natur", "Technik", "Gefühl", "Essen", "Beruf", "Reise", "Sport"
+    };
+
+    private static final String[] HYPERNYMS = {
+            "Gegenstand", "Tier", "Pflanze", "Ort", "Person", "Handlung"
+    };
+
+    private static final Genus[] GENERA = Genus.values();
+
+
+    private final GermanWordGenerator generator;
+
+
+    public LexiconGenerator(long seed) {
+        this.generator = new GermanWordGenerator(seed);
+    }
+
+
+    public List<Lemma> nextLemmas(int count) {
+        Set<String> usedExpressions = new HashSet<>();
+        List<Lemma> result = new ArrayList<>(count);
+
+        while (result.size() < count) {
+            int index = result.size();
+
+            String expression =
+                    generator.nextWord(5 + index % 8, index % 2 == 0);
+
+            if (!usedExpressions.add(expression)) {
+                continue;
+            }
+
+            Set<String> categories =
+                    Collections.singleton(CATEGORIES[index % CATEGORIES.length]);
+
+            Set<String> hypernyms =
+                    Collections.singleton(HYPERNYMS[index % HYPERNYMS.length]);
+
+            switch (index % 10) {
+                case 8:
+                    result.add(new Verb(expression.toLowerCase() + "en", categories));
+                    break;
+
+                case 9:
+                    result.add(new Adjective(expression.toLowerCase() + "ig", categories));
+                    break;
+
+                default:
+                    result.add(new Noun(
+                            expression,
+                            categories,
+                            Collections.emptyList(),
+                            Optional.empty(),
+                            Collections.emptySet(),
+                            Collections.emptySet(),
+                            hypernyms,
+                            Optional.of(GENERA[index % GENERA.length]),
+                            NounDeclension.createOption(
+                                    expression,
+                                    expression,
+                                    expression,
+                                    expression + "es",
+
+                                    expression + "e",
+                                    expression + "e",
+                                    expression + "en",
+                                    expression + "e"
+                            ).get(),
+                            Optional.empty()
+                    ));
+            }
+        }
+
+        return result;
+    }
+}
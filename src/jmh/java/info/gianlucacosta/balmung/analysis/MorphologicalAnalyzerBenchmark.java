@@ -0,0 +1,130 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.LexiconGenerator;
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Lexicon;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MorphologicalAnalyzerBenchmark {
+    private static final int PROBES_COUNT = 1024;
+
+
+    @Param({"20000", "200000"})
+    public int lemmaCount;
+
+
+    private MorphologicalAnalyzer analyzer;
+    private LexiconTransducer transducer;
+    private int[] probeTags;
+    private String[] probeForms;
+    private final int[] target = new int[32];
+
+
+    @Setup
+    public void setUp() {
+        Lexicon lexicon =
+                new Lexicon(new LexiconGenerator(lemmaCount).nextLemmas(lemmaCount));
+
+        analyzer = new MorphologicalAnalyzer(lexicon);
+
+        transducer = LexiconTransducer.compile(lexicon);
+
+        System.out.printf(
+                "%n# Analyzer: %d forms, %d analyses; transducer: %d states, %d bytes%n",
+                analyzer.getFormCount(),
+                analyzer.getAnalysisCount(),
+                transducer.getAutomaton().getStateCount(),
+                transducer.getByteSize()
+        );
+
+        List<Noun> nouns =
+                lexicon.getNouns();
+
+        probeForms = new String[PROBES_COUNT];
+
+        for (int i = 0; i < PROBES_COUNT; i++) {
+            Noun noun = nouns.get((i * 7919) % nouns.size());
+
+            probeForms[i] =
+                    (i % 4 == 3) ?
+                            noun.getExpression() + "x"
+                            :
+                            noun.expressionOrNull(Numerus.values()[i % 2], Kasus.values()[i % 4]);
+        }
+
+        probeTags = new int[PROBES_COUNT];
+
+        for (int i = 0; i < PROBES_COUNT; i++) {
+            int lemmaOrdinal = (i * 7919) % lemmaCount;
+
+            probeTags[i] = AnalysisTags.packNoun(lemmaOrdinal, true, Numerus.values()[i % 2], Kasus.values()[i % 4]);
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES_COUNT)
+    public int analyzeIntoArray() {
+        int total = 0;
+
+        for (String form : probeForms) {
+            total += analyzer.analyze(form, target);
+        }
+
+        return total;
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES_COUNT)
+    public int analyzeWithTransducer() {
+        int total = 0;
+
+        for (String form : probeForms) {
+            total += transducer.analyze(form, target);
+        }
+
+        return total;
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES_COUNT)
+    public int generateWithTransducer() {
+        int total = 0;
+
+        for (int tag : probeTags) {
+            total += transducer.generate(tag).map(String::length).orElse(0);
+        }
+
+        return total;
+    }
+}
@@ -0,0 +1,84 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.completion;
+
+import info.gianlucacosta.balmung.GermanWordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures top-10 completions of 1- to 4-char prefixes, on an index of randomly-weighted words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AutocompleteIndexBenchmark {
+    @Param({"100000", "1000000"})
+    public int expressionCount;
+
+
+    private AutocompleteIndex index;
+    private String[] prefixes;
+
+
+    @Setup
+    public void setUp() {
+        GermanWordGenerator generator =
+                new GermanWordGenerator(expressionCount);
+
+        Random random =
+                new Random(expressionCount);
+
+        index = new AutocompleteIndex();
+
+        for (int i = 0; i < expressionCount; i++) {
+            index.add(generator.nextWord(5 + i % 8, i % 2 == 0), random.nextInt(1_000_000));
+        }
+
+        prefixes = new String[1024];
+
+        for (int i = 0; i < prefixes.length; i++) {
+            String word =
+                    generator.nextWord(5, i % 2 == 0);
+
+            prefixes[i] = word.substring(0, 1 + i % 4);
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public int completeTopTen() {
+        int found = 0;
+
+        for (String prefix : prefixes) {
+            List<Completion> completions =
+                    index.complete(prefix);
+
+            found += completions.size();
+        }
+
+        return found;
+    }
+}
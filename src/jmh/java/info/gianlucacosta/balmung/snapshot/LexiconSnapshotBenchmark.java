@@ -0,0 +1,106 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.snapshot;
+
+import info.gianlucacosta.balmung.LexiconGenerator;
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Lexicon;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares opening a lexicon snapshot - with and without checksum verification - to
+ * fully decoding it, and measures lookups on the mapped views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LexiconSnapshotBenchmark {
+    @Param({"10000", "100000"})
+    public int lemmaCount;
+
+
+    private Path snapshotPath;
+    private LexiconSnapshot snapshot;
+    private String[] probeExpressions;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Lemma> lemmas =
+                new LexiconGenerator(lemmaCount).nextLemmas(lemmaCount);
+
+        snapshotPath = Files.createTempFile("lexicon", ".snapshot");
+        LexiconSnapshotWriter.write(new Lexicon(lemmas), snapshotPath);
+
+        snapshot = LexiconSnapshot.open(snapshotPath);
+
+        probeExpressions = new String[1024];
+
+        for (int i = 0; i < probeExpressions.length; i++) {
+            probeExpressions[i] = lemmas.get((i * 7919) % lemmaCount).getExpression();
+        }
+    }
+
+
+    @TearDown
+    public void tearDown() throws IOException {
+        snapshot = null;
+        Files.deleteIfExists(snapshotPath);
+    }
+
+
+    @Benchmark
+    public LexiconSnapshot openVerifyingChecksum() throws IOException {
+        return LexiconSnapshot.open(snapshotPath);
+    }
+
+
+    @Benchmark
+    public LexiconSnapshot openWithoutChecksum() throws IOException {
+        return LexiconSnapshot.open(snapshotPath, false);
+    }
+
+
+    @Benchmark
+    public Lexicon decodeWholeLexicon() {
+        return snapshot.toLexicon();
+    }
+
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(1024)
+    public int lookupByExpression() {
+        int found = 0;
+
+        for (String expression : probeExpressions) {
+            found += snapshot.getLemmasByExpression(expression).size();
+        }
+
+        return found;
+    }
+}
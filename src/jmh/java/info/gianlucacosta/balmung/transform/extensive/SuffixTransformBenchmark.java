@@ -0,0 +1,93 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import info.gianlucacosta.balmung.GermanWordGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SuffixTransformBenchmark {
+    private static final int WORDS_COUNT = 1024;
+
+
+    @Param({"4", "12", "32"})
+    public int wordLength;
+
+    @Param({"true", "false"})
+    public boolean umlaut;
+
+    @Param({"true", "false"})
+    public boolean emptySuffixes;
+
+
+    private String[] origins;
+    private String[] results;
+    private SuffixTransform transform;
+
+
+    @Setup
+    public void setUp() {
+        origins =
+                new GermanWordGenerator(wordLength).nextWords(WORDS_COUNT, wordLength, umlaut);
+
+        if (!emptySuffixes) {
+            //Ensures that the suffix removal path of apply() is measured, too
+            for (int i = 0; i < WORDS_COUNT; i++) {
+                origins[i] += "e";
+            }
+        }
+
+        transform =
+                emptySuffixes ?
+                        new SuffixTransform("", umlaut, "")
+                        :
+                        new SuffixTransform("e", umlaut, "ern");
+
+        results = new String[WORDS_COUNT];
+
+        for (int i = 0; i < WORDS_COUNT; i++) {
+            results[i] = transform.apply(origins[i]);
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS_COUNT)
+    public void apply(Blackhole blackhole) {
+        for (String origin : origins) {
+            blackhole.consume(transform.apply(origin));
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS_COUNT)
+    public void compute(Blackhole blackhole) {
+        for (int i = 0; i < WORDS_COUNT; i++) {
+            blackhole.consume(SuffixTransform.compute(origins[i], results[i]));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import info.gianlucacosta.balmung.GermanWordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SuffixTransformCodecBenchmark {
+    private static final int TRANSFORMS_COUNT = 100_000;
+
+
+    private List<SuffixTransform> table;
+    private byte[] encodedTable;
+
+
+    @Setup
+    public void setUp() {
+        GermanWordGenerator generator =
+                new GermanWordGenerator(TRANSFORMS_COUNT);
+
+        table = new ArrayList<>(TRANSFORMS_COUNT);
+
+        for (int i = 0; i < TRANSFORMS_COUNT; i++) {
+            String origin =
+                    generator.nextWord(6, false);
+
+            String result =
+                    generator.nextWord(6, false);
+
+            table.add(
+                    new SuffixTransform(
+                            origin.substring(origin.length() - i % 4),
+                            i % 3 == 0,
+                            result.substring(result.length() - i % 5)
+                    )
+            );
+        }
+
+        encodedTable = SuffixTransformCodec.encodeTable(table);
+    }
+
+
+    @Benchmark
+    public byte[] encodeTable() {
+        return SuffixTransformCodec.encodeTable(table);
+    }
+
+
+    @Benchmark
+    public List<SuffixTransform> decodeTable() {
+        return SuffixTransformCodec.decodeTable(encodedTable);
+    }
+}
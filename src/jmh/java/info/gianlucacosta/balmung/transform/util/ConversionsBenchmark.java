@@ -0,0 +1,59 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import info.gianlucacosta.balmung.GermanWordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversionsBenchmark {
+    @Param({"4", "12", "32"})
+    public int wordLength;
+
+
+    private String word;
+
+
+    @Setup
+    public void setUp() {
+        word =
+                new GermanWordGenerator(wordLength).nextWord(wordLength, true);
+    }
+
+
+    @Benchmark
+    public Deque<Character> stringToDeque() {
+        return Conversions.stringToDeque(word);
+    }
+
+
+    @Benchmark
+    public String streamToString() {
+        return Conversions.streamToString(
+                Conversions.stringToStream(word)
+        );
+    }
+}
@@ -0,0 +1,99 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import info.gianlucacosta.balmung.GermanWordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk vowel scanners to char-by-char loops on long compounds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VowelScanningBenchmark {
+    @Param({"16", "64", "256"})
+    public int wordLength;
+
+
+    private char[] chars;
+
+
+    @Setup
+    public void setUp() {
+        //The only vowel receiving umlaut is as far as possible from the end
+        chars =
+                ("A" + new GermanWordGenerator(wordLength).nextWord(wordLength, false))
+                        .toCharArray();
+    }
+
+
+    @Benchmark
+    public int lastIndexOfUmlautableByChar() {
+        for (int i = chars.length - 1; i >= 0; i--) {
+            if (Vowels.canReceiveUmlaut(chars[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    @Benchmark
+    public int lastIndexOfUmlautable() {
+        return Vowels.lastIndexOfUmlautable(chars, 0, chars.length);
+    }
+
+
+    @Benchmark
+    public int countVowelsByChar() {
+        int vowelsCount = 0;
+
+        for (char c : chars) {
+            if (Vowels.isVowel(c)) {
+                vowelsCount++;
+            }
+        }
+
+        return vowelsCount;
+    }
+
+
+    @Benchmark
+    public int countVowels() {
+        return Vowels.countVowels(chars, 0, chars.length);
+    }
+
+
+    @Benchmark
+    public long vowelMask() {
+        long result = 0;
+
+        for (int i = 0; i < chars.length; i += Long.SIZE) {
+            result ^= Vowels.vowelMask(chars, i);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import info.gianlucacosta.balmung.GermanWordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VowelsBenchmark {
+    @Param({"4", "12", "32"})
+    public int wordLength;
+
+    @Param({"true", "false"})
+    public boolean umlaut;
+
+
+    private char[] chars;
+
+
+    @Setup
+    public void setUp() {
+        chars =
+                new GermanWordGenerator(wordLength)
+                        .nextWord(wordLength, umlaut)
+                        .toCharArray();
+    }
+
+
+    @Benchmark
+    public int isVowel() {
+        int vowelsCount = 0;
+
+        for (char c : chars) {
+            if (Vowels.isVowel(c)) {
+                vowelsCount++;
+            }
+        }
+
+        return vowelsCount;
+    }
+
+
+    @Benchmark
+    public int canReceiveUmlaut() {
+        for (int i = chars.length - 1; i >= 0; i--) {
+            if (Vowels.canReceiveUmlaut(chars[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
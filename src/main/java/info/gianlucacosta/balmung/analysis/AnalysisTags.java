@@ -0,0 +1,190 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.AdjectiveForm;
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.lexicon.VerbForm;
+
+/**
+ * Packs a morphological analysis into a single int.
+ * <p>
+ * Layout, from the least significant bit:
+ * <ul>
+ * <li>bits 0-1: the part of speech ordinal</li>
+ * <li>bits 2-6: the form code, whose meaning depends on the part of speech:
+ * <ul>
+ * <li>for nouns, the declension cell: bit 3 is set for the alternative declension,
+ * bit 2 holds the numerus and bits 0-1 the kasus</li>
+ * <li>for verbs and adjectives, 0 for the lemma's expression itself, 1 + the
+ * VerbForm or AdjectiveForm ordinal otherwise</li>
+ * </ul>
+ * </li>
+ * <li>bit 7: unused</li>
+ * <li>bits 8-31: the ordinal of the lemma within the lexicon</li>
+ * </ul>
+ */
+public interface AnalysisTags {
+    int MAX_LEMMA_ORDINAL = (1 << 24) - 1;
+
+    int BASE_FORM_CODE = 0;
+
+
+    static int pack(int lemmaOrdinal, PartOfSpeech partOfSpeech, int formCode) {
+        if (lemmaOrdinal < 0 || lemmaOrdinal > MAX_LEMMA_ORDINAL) {
+            throw new IllegalArgumentException(
+                    String.format("The lemma ordinal must be in the range [0, %d], but it is %d", MAX_LEMMA_ORDINAL, lemmaOrdinal)
+            );
+        }
+
+        if (formCode < 0 || formCode > 0x1F) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid form code: %d", formCode)
+            );
+        }
+
+        return (lemmaOrdinal << 8) | (formCode << 2) | partOfSpeech.ordinal();
+    }
+
+
+    static int packNoun(int lemmaOrdinal, boolean isMainDeclension, Numerus numerus, Kasus kasus) {
+        int formCode =
+                (isMainDeclension ? 0 : 8) | (numerus.ordinal() << 2) | kasus.ordinal();
+
+        return pack(lemmaOrdinal, PartOfSpeech.NOUN, formCode);
+    }
+
+
+    static int packVerb(int lemmaOrdinal, VerbForm verbForm) {
+        return pack(lemmaOrdinal, PartOfSpeech.VERB, 1 + verbForm.ordinal());
+    }
+
+
+    static int packAdjective(int lemmaOrdinal, AdjectiveForm adjectiveForm) {
+        return pack(lemmaOrdinal, PartOfSpeech.ADJECTIVE, 1 + adjectiveForm.ordinal());
+    }
+
+
+    static int getLemmaOrdinal(int tag) {
+        return tag >>> 8;
+    }
+
+
+    static PartOfSpeech getPartOfSpeech(int tag) {
+        return TagTables.PARTS_OF_SPEECH[tag & 0x3];
+    }
+
+
+    static int getFormCode(int tag) {
+        return (tag >>> 2) & 0x1F;
+    }
+
+
+    static boolean isBaseForm(int tag) {
+        return getPartOfSpeech(tag) != PartOfSpeech.NOUN && getFormCode(tag) == BASE_FORM_CODE;
+    }
+
+
+    /**
+     * @param tag A noun tag
+     * @return true if the cell belongs to the main declension
+     */
+    static boolean isMainDeclension(int tag) {
+        return (getFormCode(tag) & 8) == 0;
+    }
+
+
+    /**
+     * @param tag A noun tag
+     * @return The numerus of the cell
+     */
+    static Numerus getNumerus(int tag) {
+        return TagTables.NUMERI[(getFormCode(tag) >>> 2) & 0x1];
+    }
+
+
+    /**
+     * @param tag A noun tag
+     * @return The kasus of the cell
+     */
+    static Kasus getKasus(int tag) {
+        return TagTables.KASUS_VALUES[getFormCode(tag) & 0x3];
+    }
+
+
+    /**
+     * @param tag A verb tag
+     * @return The verb form, or null for the infinitive - that is, the lemma's expression
+     */
+    static VerbForm getVerbFormOrNull(int tag) {
+        int formCode = getFormCode(tag);
+
+        return formCode == BASE_FORM_CODE ?
+                null
+                :
+                TagTables.VERB_FORMS[formCode - 1];
+    }
+
+
+    /**
+     * @param tag An adjective tag
+     * @return The adjective form, or null for the positive - that is, the lemma's expression
+     */
+    static AdjectiveForm getAdjectiveFormOrNull(int tag) {
+        int formCode = getFormCode(tag);
+
+        return formCode == BASE_FORM_CODE ?
+                null
+                :
+                TagTables.ADJECTIVE_FORMS[formCode - 1];
+    }
+
+
+    static String toString(int tag) {
+        PartOfSpeech partOfSpeech = getPartOfSpeech(tag);
+
+        String features;
+
+        switch (partOfSpeech) {
+            case NOUN:
+                features = String.format(
+                        "%s %s%s",
+                        getNumerus(tag),
+                        getKasus(tag),
+                        isMainDeclension(tag) ? "" : " (alternative)"
+                );
+                break;
+
+            case VERB:
+                VerbForm verbForm = getVerbFormOrNull(tag);
+                features = (verbForm != null) ? verbForm.toString() : "BASE";
+                break;
+
+            default:
+                AdjectiveForm adjectiveForm = getAdjectiveFormOrNull(tag);
+                features = (adjectiveForm != null) ? adjectiveForm.toString() : "BASE";
+                break;
+        }
+
+        return String.format("#%d %s: %s", getLemmaOrdinal(tag), partOfSpeech, features);
+    }
+}
@@ -0,0 +1,576 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Minimal acyclic automaton recognizing a set of words, stored in a single byte array.
+ * <p>
+ * The automaton is numbered: every word is mapped to its rank in lexicographic order
+ * - as defined by String.compareTo() - and vice versa, so it can act as a perfect
+ * hash for external tables.
+ * <p>
+ * Each state is encoded as a varint header - the transition count shifted left by one,
+ * with the lowest bit set for final states - followed, if it has transitions, by a byte
+ * declaring the widths of the transition fields and by the transitions themselves, sorted
+ * by label. Every transition has the same width within a state - so that transitions can
+ * be binary-searched - and contains the label, the number of words skipped by following it
+ * and the distance back from the state to its target.
+ * States are written children first, so every distance is positive and the root
+ * is the last state.
+ * <p>
+ * It is immutable, and therefore safe for concurrent use.
+ */
+public class FormAutomaton {
+    private final byte[] bytes;
+    private final int rootOffset;
+    private final int wordCount;
+    private final int stateCount;
+
+
+    /**
+     * Builds the minimal automaton for the given words.
+     *
+     * @param sortedWords The words, strictly increasing according to String.compareTo()
+     * @return The automaton
+     */
+    public static FormAutomaton build(List<String> sortedWords) {
+        return new Builder().build(sortedWords);
+    }
+
+
+    FormAutomaton(byte[] bytes, int rootOffset, int wordCount, int stateCount) {
+        this.bytes = bytes;
+        this.rootOffset = rootOffset;
+        this.wordCount = wordCount;
+        this.stateCount = stateCount;
+    }
+
+
+    /**
+     * Returns the rank of a word.
+     *
+     * @param word The word
+     * @return The word's index in lexicographic order, or -1 if the word is not recognized
+     */
+    public int indexOf(CharSequence word) {
+        if (wordCount == 0) {
+            return -1;
+        }
+
+        int stateOffset = rootOffset;
+        int index = 0;
+
+        for (int i = 0; i < word.length(); i++) {
+            long header = readVarint(stateOffset);
+            int headerValue = value(header);
+
+            if ((headerValue & 1) != 0) {
+                index++;
+            }
+
+            int transitionCount = headerValue >>> 1;
+
+            if (transitionCount == 0) {
+                return -1;
+            }
+
+            int widthsOffset = nextOffset(header);
+            int widths = bytes[widthsOffset];
+
+            int labelWidth = getLabelWidth(widths);
+            int skipWidth = getSkipWidth(widths);
+            int transitionWidth = labelWidth + skipWidth + getDistanceWidth(widths);
+
+            int transitionsOffset = widthsOffset + 1;
+
+            char label = word.charAt(i);
+
+            int low = 0;
+            int high = transitionCount - 1;
+            int transitionOffset = -1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int middleOffset = transitionsOffset + middle * transitionWidth;
+                int middleLabel = readFixed(middleOffset, labelWidth);
+
+                if (middleLabel < label) {
+                    low = middle + 1;
+                } else if (middleLabel > label) {
+                    high = middle - 1;
+                } else {
+                    transitionOffset = middleOffset;
+                    break;
+                }
+            }
+
+            if (transitionOffset < 0) {
+                return -1;
+            }
+
+            index += readFixed(transitionOffset + labelWidth, skipWidth);
+
+            stateOffset -= readFixed(transitionOffset + labelWidth + skipWidth, getDistanceWidth(widths));
+        }
+
+        return (value(readVarint(stateOffset)) & 1) != 0 ?
+                index
+                :
+                -1;
+    }
+
+
+    public boolean contains(CharSequence word) {
+        return indexOf(word) >= 0;
+    }
+
+
+    /**
+     * Returns the word having the given rank.
+     *
+     * @param index The rank, in [0, size())
+     * @return The word
+     */
+    public String getWord(int index) {
+        if (index < 0 || index >= wordCount) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Word index %d is out of the range [0, %d)", index, wordCount)
+            );
+        }
+
+        StringBuilder word = new StringBuilder();
+
+        int stateOffset = rootOffset;
+        int remainingIndex = index;
+
+        while (true) {
+            long header = readVarint(stateOffset);
+            int headerValue = value(header);
+
+            if ((headerValue & 1) != 0) {
+                if (remainingIndex == 0) {
+                    return word.toString();
+                }
+
+                remainingIndex--;
+            }
+
+            int transitionCount = headerValue >>> 1;
+
+            if (transitionCount == 0) {
+                throw new IllegalStateException("Corrupted automaton");
+            }
+
+            int widthsOffset = nextOffset(header);
+            int widths = bytes[widthsOffset];
+
+            int labelWidth = getLabelWidth(widths);
+            int skipWidth = getSkipWidth(widths);
+            int transitionWidth = labelWidth + skipWidth + getDistanceWidth(widths);
+
+            int transitionsOffset = widthsOffset + 1;
+
+            int low = 0;
+            int high = transitionCount - 1;
+
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                int middleSkippedWords = readFixed(transitionsOffset + middle * transitionWidth + labelWidth, skipWidth);
+
+                if (middleSkippedWords <= remainingIndex) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+
+            int transitionOffset = transitionsOffset + low * transitionWidth;
+
+            word.append((char) readFixed(transitionOffset, labelWidth));
+            remainingIndex -= readFixed(transitionOffset + labelWidth, skipWidth);
+            stateOffset -= readFixed(transitionOffset + labelWidth + skipWidth, getDistanceWidth(widths));
+        }
+    }
+
+
+    private static int getLabelWidth(int widths) {
+        return (widths & 0x1) + 1;
+    }
+
+
+    private static int getSkipWidth(int widths) {
+        return ((widths >>> 1) & 0x3) + 1;
+    }
+
+
+    private static int getDistanceWidth(int widths) {
+        return ((widths >>> 3) & 0x3) + 1;
+    }
+
+
+    private int readFixed(int offset, int width) {
+        int result = 0;
+
+        for (int i = 0; i < width; i++) {
+            result |= (bytes[offset + i] & 0xFF) << (8 * i);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Decodes the varint at the given offset.
+     *
+     * @param offset The offset of the varint
+     * @return The value in the high 32 bits, the offset following the varint in the low ones
+     */
+    private long readVarint(int offset) {
+        int value = 0;
+        int shift = 0;
+        int position = offset;
+
+        while (true) {
+            byte currentByte = bytes[position++];
+
+            value |= (currentByte & 0x7F) << shift;
+
+            if (currentByte >= 0) {
+                return ((long) value << 32) | position;
+            }
+
+            shift += 7;
+        }
+    }
+
+
+    private static int value(long varintResult) {
+        return (int) (varintResult >>> 32);
+    }
+
+
+    private static int nextOffset(long varintResult) {
+        return (int) varintResult;
+    }
+
+
+    /**
+     * @return The number of recognized words
+     */
+    public int size() {
+        return wordCount;
+    }
+
+
+    public int getStateCount() {
+        return stateCount;
+    }
+
+
+    public int getByteSize() {
+        return bytes.length;
+    }
+
+
+    /**
+     * @return A read-only view of the encoded automaton
+     */
+    public ByteBuffer getBytes() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+
+    int getRootOffset() {
+        return rootOffset;
+    }
+
+
+    /**
+     * Incremental construction of the minimal automaton from sorted words, as described by
+     * Daciuk et al.: the states of the previous word's suffix that cannot be shared
+     * with the next word are replaced by equivalent registered states, if any.
+     */
+    private static class Builder {
+        private final Map<State, State> register = new HashMap<>();
+        private final List<State> path = new ArrayList<>();
+        private int nextStateId;
+
+        private byte[] bytes = new byte[1024];
+        private int length;
+        private int stateCount;
+
+
+        FormAutomaton build(List<String> sortedWords) {
+            State root = new State();
+            path.add(root);
+
+            String previousWord = null;
+
+            for (String word : sortedWords) {
+                Objects.requireNonNull(word);
+
+                int commonPrefixLength = 0;
+
+                if (previousWord != null) {
+                    if (word.compareTo(previousWord) <= 0) {
+                        throw new IllegalArgumentException(
+                                String.format("Words must be strictly increasing, but '%s' follows '%s'", word, previousWord)
+                        );
+                    }
+
+                    int maxPrefixLength = Math.min(word.length(), previousWord.length());
+
+                    while (commonPrefixLength < maxPrefixLength &&
+                            word.charAt(commonPrefixLength) == previousWord.charAt(commonPrefixLength)) {
+                        commonPrefixLength++;
+                    }
+                }
+
+                minimizePathDownTo(commonPrefixLength);
+
+                State currentState = path.get(commonPrefixLength);
+
+                for (int i = commonPrefixLength; i < word.length(); i++) {
+                    State nextState = new State();
+
+                    currentState.addTransition(word.charAt(i), nextState);
+                    path.add(nextState);
+
+                    currentState = nextState;
+                }
+
+                currentState.isFinal = true;
+                previousWord = word;
+            }
+
+            minimizePathDownTo(0);
+            root.id = nextStateId++;
+
+            int rootOffset = write(root);
+
+            return new FormAutomaton(
+                    Arrays.copyOf(bytes, length),
+                    rootOffset,
+                    root.wordCount,
+                    stateCount
+            );
+        }
+
+
+        private void minimizePathDownTo(int depth) {
+            for (int i = path.size() - 1; i > depth; i--) {
+                State state = path.remove(i);
+
+                State equivalentState = register.get(state);
+
+                if (equivalentState != null) {
+                    path.get(i - 1).replaceLastTarget(equivalentState);
+                } else {
+                    state.id = nextStateId++;
+                    register.put(state, state);
+                }
+            }
+        }
+
+
+        private int write(State state) {
+            if (state.offset >= 0) {
+                return state.offset;
+            }
+
+            for (int t = 0; t < state.transitionCount; t++) {
+                write(state.targets[t]);
+            }
+
+            int stateOffset = length;
+
+            state.offset = stateOffset;
+            stateCount++;
+
+            writeVarint((state.transitionCount << 1) | (state.isFinal ? 1 : 0));
+
+            int maxLabel = 0;
+            int totalTargetWords = 0;
+            int maxDistance = 0;
+
+            for (int t = 0; t < state.transitionCount; t++) {
+                maxLabel = Math.max(maxLabel, state.labels[t]);
+                maxDistance = Math.max(maxDistance, stateOffset - state.targets[t].offset);
+
+                if (t < state.transitionCount - 1) {
+                    totalTargetWords += state.targets[t].wordCount;
+                }
+            }
+
+            if (state.transitionCount > 0) {
+                int labelWidth = getRequiredWidth(maxLabel);
+                int skipWidth = getRequiredWidth(totalTargetWords);
+                int distanceWidth = getRequiredWidth(maxDistance);
+
+                writeByte((labelWidth - 1) | ((skipWidth - 1) << 1) | ((distanceWidth - 1) << 3));
+
+                int skippedWords = 0;
+
+                for (int t = 0; t < state.transitionCount; t++) {
+                    State target = state.targets[t];
+
+                    writeFixed(state.labels[t], labelWidth);
+                    writeFixed(skippedWords, skipWidth);
+                    writeFixed(stateOffset - target.offset, distanceWidth);
+
+                    skippedWords += target.wordCount;
+                }
+
+                state.wordCount = skippedWords;
+            }
+
+            if (state.isFinal) {
+                state.wordCount++;
+            }
+
+            return state.offset;
+        }
+
+
+        private static int getRequiredWidth(int value) {
+            if ((value & ~0xFF) == 0) {
+                return 1;
+            }
+
+            if ((value & ~0xFFFF) == 0) {
+                return 2;
+            }
+
+            if ((value & ~0xFFFFFF) == 0) {
+                return 3;
+            }
+
+            return 4;
+        }
+
+
+        private void ensureCapacity(int additionalLength) {
+            if (length + additionalLength > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + additionalLength, 2 * bytes.length));
+            }
+        }
+
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+
+            bytes[length++] = (byte) value;
+        }
+
+
+        private void writeFixed(int value, int width) {
+            ensureCapacity(width);
+
+            for (int i = 0; i < width; i++) {
+                bytes[length++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+
+        private void writeVarint(int value) {
+            ensureCapacity(5);
+
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+
+            bytes[length++] = (byte) value;
+        }
+    }
+
+
+    /**
+     * State of the automaton under construction.
+     * <p>
+     * Equality only makes sense for states whose targets are all registered, and is
+     * therefore based on the targets' ids.
+     */
+    private static class State {
+        boolean isFinal;
+
+        char[] labels = new char[1];
+        State[] targets = new State[1];
+        int transitionCount;
+
+        int id = -1;
+        int offset = -1;
+        int wordCount;
+
+
+        void addTransition(char label, State target) {
+            if (transitionCount == labels.length) {
+                labels = Arrays.copyOf(labels, 2 * transitionCount);
+                targets = Arrays.copyOf(targets, 2 * transitionCount);
+            }
+
+            labels[transitionCount] = label;
+            targets[transitionCount] = target;
+            transitionCount++;
+        }
+
+
+        void replaceLastTarget(State target) {
+            targets[transitionCount - 1] = target;
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof State)) return false;
+            State that = (State) o;
+
+            if (isFinal != that.isFinal || transitionCount != that.transitionCount) {
+                return false;
+            }
+
+            for (int t = 0; t < transitionCount; t++) {
+                if (labels[t] != that.labels[t] || targets[t].id != that.targets[t].id) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        @Override
+        public int hashCode() {
+            int result = isFinal ? 1 : 0;
+
+            for (int t = 0; t < transitionCount; t++) {
+                result = 31 * result + labels[t];
+                result = 31 * result + targets[t].id;
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.*;
+
+import java.util.*;
+
+/**
+ * Collects all the surface forms of a lexicon, each with the tags of its analyses.
+ * <p>
+ * Forms are numbered in order of first appearance; entries are kept in lexicon order.
+ */
+class FormCollector {
+    final Map<String, Integer> formIndexes = new HashMap<>();
+
+    int[] entryFormIndexes = new int[1024];
+    int[] entryTags = new int[1024];
+    int entryCount;
+
+
+    FormCollector(Lexicon lexicon) {
+        List<Lemma> lemmas =
+                lexicon.getLemmas();
+
+        for (int lemmaOrdinal = 0; lemmaOrdinal < lemmas.size(); lemmaOrdinal++) {
+            addLemma(lemmaOrdinal, lemmas.get(lemmaOrdinal));
+        }
+    }
+
+
+    private void addLemma(int lemmaOrdinal, Lemma lemma) {
+        if (lemma instanceof Noun) {
+            Noun noun = (Noun) lemma;
+
+            for (Numerus numerus : TagTables.NUMERI) {
+                for (Kasus kasus : TagTables.KASUS_VALUES) {
+                    add(
+                            noun.expressionOrNull(numerus, kasus),
+                            AnalysisTags.packNoun(lemmaOrdinal, true, numerus, kasus)
+                    );
+
+                    add(
+                            noun.alternativeExpressionOrNull(numerus, kasus),
+                            AnalysisTags.packNoun(lemmaOrdinal, false, numerus, kasus)
+                    );
+                }
+            }
+        } else if (lemma instanceof Verb) {
+            Verb verb = (Verb) lemma;
+
+            add(
+                    verb.getExpression(),
+                    AnalysisTags.pack(lemmaOrdinal, PartOfSpeech.VERB, AnalysisTags.BASE_FORM_CODE)
+            );
+
+            for (VerbForm verbForm : TagTables.VERB_FORMS) {
+                add(
+                        verb.formOrNull(verbForm),
+                        AnalysisTags.packVerb(lemmaOrdinal, verbForm)
+                );
+            }
+        } else if (lemma instanceof Adjective) {
+            Adjective adjective = (Adjective) lemma;
+
+            add(
+                    adjective.getExpression(),
+                    AnalysisTags.pack(lemmaOrdinal, PartOfSpeech.ADJECTIVE, AnalysisTags.BASE_FORM_CODE)
+            );
+
+            for (AdjectiveForm adjectiveForm : TagTables.ADJECTIVE_FORMS) {
+                add(
+                        adjective.formOrNull(adjectiveForm),
+                        AnalysisTags.packAdjective(lemmaOrdinal, adjectiveForm)
+                );
+            }
+        }
+    }
+
+
+    private void add(String form, int tag) {
+        if (form == null) {
+            return;
+        }
+
+        Integer formIndex =
+                formIndexes.computeIfAbsent(form, newForm -> formIndexes.size());
+
+        if (entryCount == entryTags.length) {
+            entryFormIndexes = Arrays.copyOf(entryFormIndexes, 2 * entryCount);
+            entryTags = Arrays.copyOf(entryTags, 2 * entryCount);
+        }
+
+        entryFormIndexes[entryCount] = formIndex;
+        entryTags[entryCount] = tag;
+        entryCount++;
+    }
+}
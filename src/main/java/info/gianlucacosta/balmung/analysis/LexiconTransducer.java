@@ -0,0 +1,295 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.Lexicon;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact, bidirectional mapping between the surface forms of a lexicon and their analyses.
+ * <p>
+ * The forms are compiled into a minimal acyclic automaton - sharing both prefixes and
+ * suffixes - whose word ranks index the table of analysis tags, as described in
+ * AnalysisTags: this supports analysis (form to tags). Generation (tag to form) relies on a
+ * second table, listing the form codes and word ranks of each lemma.
+ * <p>
+ * It is immutable, and therefore safe for concurrent use.
+ */
+public class LexiconTransducer {
+    private final FormAutomaton automaton;
+
+    private final int[] tagOffsets;
+    private final int[] tags;
+
+    private final int[] generationLemmaOffsets;
+    private final byte[] generationCodes;
+    private final int[] generationFormIndexes;
+
+
+    public static LexiconTransducer compile(Lexicon lexicon) {
+        Objects.requireNonNull(lexicon);
+
+        FormCollector collector =
+                new FormCollector(lexicon);
+
+        String[] sortedFormsArray =
+                collector.formIndexes.keySet().toArray(new String[0]);
+
+        Arrays.parallelSort(sortedFormsArray);
+
+        List<String> sortedForms =
+                Arrays.asList(sortedFormsArray);
+
+        int formCount =
+                sortedForms.size();
+
+        int[] sortedFormIndexes =
+                new int[formCount];
+
+        for (int sortedFormIndex = 0; sortedFormIndex < formCount; sortedFormIndex++) {
+            int collectedFormIndex =
+                    collector.formIndexes.get(sortedForms.get(sortedFormIndex));
+
+            sortedFormIndexes[collectedFormIndex] = sortedFormIndex;
+        }
+
+        int entryCount =
+                collector.entryCount;
+
+        int[] tagOffsets =
+                new int[formCount + 1];
+
+        for (int i = 0; i < entryCount; i++) {
+            tagOffsets[sortedFormIndexes[collector.entryFormIndexes[i]] + 1]++;
+        }
+
+        for (int formIndex = 0; formIndex < formCount; formIndex++) {
+            tagOffsets[formIndex + 1] += tagOffsets[formIndex];
+        }
+
+        int[] tags =
+                new int[entryCount];
+
+        int[] nextTagPositions =
+                Arrays.copyOf(tagOffsets, formCount);
+
+        for (int i = 0; i < entryCount; i++) {
+            int formIndex = sortedFormIndexes[collector.entryFormIndexes[i]];
+
+            tags[nextTagPositions[formIndex]++] = collector.entryTags[i];
+        }
+
+        int lemmaCount =
+                lexicon.size();
+
+        int[] generationLemmaOffsets =
+                new int[lemmaCount + 1];
+
+        for (int i = 0; i < entryCount; i++) {
+            generationLemmaOffsets[AnalysisTags.getLemmaOrdinal(tags[i]) + 1]++;
+        }
+
+        for (int lemmaOrdinal = 0; lemmaOrdinal < lemmaCount; lemmaOrdinal++) {
+            generationLemmaOffsets[lemmaOrdinal + 1] += generationLemmaOffsets[lemmaOrdinal];
+        }
+
+        byte[] generationCodes =
+                new byte[entryCount];
+
+        int[] generationFormIndexes =
+                new int[entryCount];
+
+        int[] nextGenerationPositions =
+                Arrays.copyOf(generationLemmaOffsets, lemmaCount);
+
+        for (int formIndex = 0; formIndex < formCount; formIndex++) {
+            for (int i = tagOffsets[formIndex]; i < tagOffsets[formIndex + 1]; i++) {
+                int position =
+                        nextGenerationPositions[AnalysisTags.getLemmaOrdinal(tags[i])]++;
+
+                generationCodes[position] = (byte) tags[i];
+                generationFormIndexes[position] = formIndex;
+            }
+        }
+
+        return new LexiconTransducer(
+                FormAutomaton.build(sortedForms),
+                tagOffsets,
+                tags,
+                generationLemmaOffsets,
+                generationCodes,
+                generationFormIndexes
+        );
+    }
+
+
+    LexiconTransducer(
+            FormAutomaton automaton,
+            int[] tagOffsets,
+            int[] tags,
+            int[] generationLemmaOffsets,
+            byte[] generationCodes,
+            int[] generationFormIndexes
+    ) {
+        this.automaton = automaton;
+        this.tagOffsets = tagOffsets;
+        this.tags = tags;
+        this.generationLemmaOffsets = generationLemmaOffsets;
+        this.generationCodes = generationCodes;
+        this.generationFormIndexes = generationFormIndexes;
+    }
+
+
+    public FormAutomaton getAutomaton() {
+        return automaton;
+    }
+
+
+    public int getAnalysisCount(CharSequence form) {
+        int formIndex = automaton.indexOf(form);
+
+        return formIndex < 0 ?
+                0
+                :
+                tagOffsets[formIndex + 1] - tagOffsets[formIndex];
+    }
+
+
+    /**
+     * Writes the analyses of a form into a caller-provided array, without allocating.
+     *
+     * @param form   The surface form
+     * @param target The array receiving the tags - if too short, only its capacity is filled
+     * @return The total number of analyses of the form, which can exceed the target's length
+     */
+    public int analyze(CharSequence form, int[] target) {
+        int formIndex = automaton.indexOf(form);
+
+        if (formIndex < 0) {
+            return 0;
+        }
+
+        int tagsStart = tagOffsets[formIndex];
+        int tagsCount = tagOffsets[formIndex + 1] - tagsStart;
+
+        System.arraycopy(tags, tagsStart, target, 0, Math.min(tagsCount, target.length));
+
+        return tagsCount;
+    }
+
+
+    public int[] analyze(CharSequence form) {
+        int formIndex = automaton.indexOf(form);
+
+        return formIndex < 0 ?
+                new int[0]
+                :
+                Arrays.copyOfRange(tags, tagOffsets[formIndex], tagOffsets[formIndex + 1]);
+    }
+
+
+    public void forEachAnalysis(CharSequence form, IntConsumer consumer) {
+        int formIndex = automaton.indexOf(form);
+
+        if (formIndex < 0) {
+            return;
+        }
+
+        for (int i = tagOffsets[formIndex]; i < tagOffsets[formIndex + 1]; i++) {
+            consumer.accept(tags[i]);
+        }
+    }
+
+
+    /**
+     * Generates the surface form having the given analysis.
+     *
+     * @param tag The analysis - for example, created via AnalysisTags.packNoun()
+     * @return The form, or an empty option if the lexicon has no such form
+     */
+    public Optional<String> generate(int tag) {
+        int lemmaOrdinal =
+                AnalysisTags.getLemmaOrdinal(tag);
+
+        if (lemmaOrdinal >= generationLemmaOffsets.length - 1) {
+            return Optional.empty();
+        }
+
+        byte code = (byte) tag;
+
+        for (int i = generationLemmaOffsets[lemmaOrdinal]; i < generationLemmaOffsets[lemmaOrdinal + 1]; i++) {
+            if (generationCodes[i] == code) {
+                return Optional.of(
+                        automaton.getWord(generationFormIndexes[i])
+                );
+            }
+        }
+
+        return Optional.empty();
+    }
+
+
+    public int getFormCount() {
+        return automaton.size();
+    }
+
+
+    public int getAnalysisCount() {
+        return tags.length;
+    }
+
+
+    /**
+     * @return The approximate number of bytes used by the automaton and the tables
+     */
+    public long getByteSize() {
+        return automaton.getByteSize() +
+                4L * (tagOffsets.length + tags.length + generationLemmaOffsets.length + generationFormIndexes.length) +
+                generationCodes.length;
+    }
+
+
+    int[] getTagOffsets() {
+        return tagOffsets;
+    }
+
+
+    int[] getTags() {
+        return tags;
+    }
+
+
+    int[] getGenerationLemmaOffsets() {
+        return generationLemmaOffsets;
+    }
+
+
+    byte[] getGenerationCodes() {
+        return generationCodes;
+    }
+
+
+    int[] getGenerationFormIndexes() {
+        return generationFormIndexes;
+    }
+}
@@ -0,0 +1,214 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.*;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Inverted index from surface forms to their morphological analyses.
+ * <p>
+ * Every analysis is a packed int tag - see AnalysisTags - whose lemma ordinal is the
+ * lemma's index in the lexicon's list of lemmas.
+ * <p>
+ * Forms are stored in an open-addressing hash table, and the tags of each form are
+ * contiguous in a single int array: lookups never allocate, and the analyzer is
+ * immutable - hence safe for concurrent use.
+ */
+public class MorphologicalAnalyzer {
+    private final Lexicon lexicon;
+
+    private final String[] slotForms;
+    private final int[] slotFormIndexes;
+    private final int slotMask;
+
+    private final int[] tagOffsets;
+    private final int[] tags;
+
+
+    public MorphologicalAnalyzer(Lexicon lexicon) {
+        Objects.requireNonNull(lexicon);
+
+        this.lexicon = lexicon;
+
+        FormCollector collector =
+                new FormCollector(lexicon);
+
+        int formCount =
+                collector.formIndexes.size();
+
+        int slotCount =
+                Integer.highestOneBit(Math.max(2 * formCount, 1)) << 1;
+
+        slotForms = new String[slotCount];
+        slotFormIndexes = new int[slotCount];
+        slotMask = slotCount - 1;
+
+        collector.formIndexes.forEach((form, formIndex) -> {
+            int slot = hash(form) & slotMask;
+
+            while (slotForms[slot] != null) {
+                slot = (slot + 1) & slotMask;
+            }
+
+            slotForms[slot] = form;
+            slotFormIndexes[slot] = formIndex;
+        });
+
+        tagOffsets = new int[formCount + 1];
+
+        for (int i = 0; i < collector.entryCount; i++) {
+            tagOffsets[collector.entryFormIndexes[i] + 1]++;
+        }
+
+        for (int formIndex = 0; formIndex < formCount; formIndex++) {
+            tagOffsets[formIndex + 1] += tagOffsets[formIndex];
+        }
+
+        tags = new int[collector.entryCount];
+
+        int[] nextTagPositions =
+                Arrays.copyOf(tagOffsets, formCount);
+
+        for (int i = 0; i < collector.entryCount; i++) {
+            int formIndex = collector.entryFormIndexes[i];
+
+            tags[nextTagPositions[formIndex]++] = collector.entryTags[i];
+        }
+    }
+
+
+    /**
+     * Same as String.hashCode(), but for any char sequence.
+     */
+    private static int hash(CharSequence form) {
+        int hash;
+
+        if (form instanceof String) {
+            hash = form.hashCode();
+        } else {
+            hash = 0;
+
+            for (int i = 0; i < form.length(); i++) {
+                hash = 31 * hash + form.charAt(i);
+            }
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+
+    private int findFormIndex(CharSequence form) {
+        int slot = hash(form) & slotMask;
+
+        while (true) {
+            String slotForm = slotForms[slot];
+
+            if (slotForm == null) {
+                return -1;
+            }
+
+            if (slotForm.contentEquals(form)) {
+                return slotFormIndexes[slot];
+            }
+
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+
+    public int getAnalysisCount(CharSequence form) {
+        int formIndex = findFormIndex(form);
+
+        return formIndex < 0 ?
+                0
+                :
+                tagOffsets[formIndex + 1] - tagOffsets[formIndex];
+    }
+
+
+    /**
+     * Writes the analyses of a form into a caller-provided array, without allocating.
+     *
+     * @param form   The surface form
+     * @param target The array receiving the tags - if too short, only its capacity is filled
+     * @return The total number of analyses of the form, which can exceed the target's length
+     */
+    public int analyze(CharSequence form, int[] target) {
+        int formIndex = findFormIndex(form);
+
+        if (formIndex < 0) {
+            return 0;
+        }
+
+        int tagsStart = tagOffsets[formIndex];
+        int tagsCount = tagOffsets[formIndex + 1] - tagsStart;
+
+        System.arraycopy(tags, tagsStart, target, 0, Math.min(tagsCount, target.length));
+
+        return tagsCount;
+    }
+
+
+    public void forEachAnalysis(CharSequence form, IntConsumer consumer) {
+        int formIndex = findFormIndex(form);
+
+        if (formIndex < 0) {
+            return;
+        }
+
+        for (int i = tagOffsets[formIndex]; i < tagOffsets[formIndex + 1]; i++) {
+            consumer.accept(tags[i]);
+        }
+    }
+
+
+    public int[] analyze(CharSequence form) {
+        int formIndex = findFormIndex(form);
+
+        return formIndex < 0 ?
+                new int[0]
+                :
+                Arrays.copyOfRange(tags, tagOffsets[formIndex], tagOffsets[formIndex + 1]);
+    }
+
+
+    public Lemma getLemma(int tag) {
+        return lexicon.getLemmas().get(AnalysisTags.getLemmaOrdinal(tag));
+    }
+
+
+    public int getFormCount() {
+        return tagOffsets.length - 1;
+    }
+
+
+    public int getAnalysisCount() {
+        return tags.length;
+    }
+}
@@ -0,0 +1,37 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.AdjectiveForm;
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.lexicon.VerbForm;
+
+/**
+ * Cached enum values, so that decoding tags never clones the values() arrays.
+ */
+interface TagTables {
+    PartOfSpeech[] PARTS_OF_SPEECH = PartOfSpeech.values();
+    Numerus[] NUMERI = Numerus.values();
+    Kasus[] KASUS_VALUES = Kasus.values();
+    VerbForm[] VERB_FORMS = VerbForm.values();
+    AdjectiveForm[] ADJECTIVE_FORMS = AdjectiveForm.values();
+}
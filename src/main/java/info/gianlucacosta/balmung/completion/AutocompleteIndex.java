@@ -0,0 +1,534 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.completion;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Lexicon;
+import info.gianlucacosta.balmung.transform.util.CharClass;
+import info.gianlucacosta.balmung.transform.util.Vowels;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * Autocompletion of expressions, ignoring case and umlauts - so that, for example,
+ * "mull" and "MÜLL" both complete to "Müller"; "ß" is folded to "ss".
+ * <p>
+ * Folded expressions are stored in a radix trie; every node whose subtree contains more
+ * expressions than the cached completions count also keeps its best completions - by
+ * decreasing weight, then by expression - so that top-k queries only cost the descent
+ * along the prefix. Smaller subtrees are enumerated on demand.
+ * <p>
+ * Insertions are serialized, while queries never lock: every node publishes its children
+ * and its completions as arrays that are never modified once visible, and a query
+ * sees each insertion completed before the query started.
+ */
+public class AutocompleteIndex {
+    public static final int DEFAULT_CACHED_COMPLETIONS_COUNT = 10;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+
+    /**
+     * Creates an index of the lemma expressions, all having weight 0.
+     *
+     * @param lexicon The lexicon
+     * @return The index
+     */
+    public static AutocompleteIndex of(Lexicon lexicon) {
+        return of(lexicon, lemma -> 0);
+    }
+
+
+    /**
+     * Creates an index of the lemma expressions, weighted - for example - by frequency.
+     * Lemmas sharing the same expression result in a single completion having the highest weight.
+     *
+     * @param lexicon        The lexicon
+     * @param weightFunction Returns the non-negative weight of each lemma
+     * @return The index
+     */
+    public static AutocompleteIndex of(Lexicon lexicon, ToLongFunction<Lemma> weightFunction) {
+        Objects.requireNonNull(lexicon);
+        Objects.requireNonNull(weightFunction);
+
+        AutocompleteIndex index =
+                new AutocompleteIndex();
+
+        for (Lemma lemma : lexicon.getLemmas()) {
+            index.add(lemma.getExpression(), weightFunction.applyAsLong(lemma));
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Folds case and umlauts, as performed on both the indexed expressions and the prefixes.
+     *
+     * @param source The source text
+     * @return The folded text
+     */
+    public static String fold(CharSequence source) {
+        Objects.requireNonNull(source);
+
+        int length =
+                source.length();
+
+        StringBuilder result =
+                new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            //Lowercasing first also maps the capital sharp s to 'ß'
+            char c =
+                    Character.toLowerCase(source.charAt(i));
+
+            if (c == 'ß') {
+                result.append("ss");
+            } else {
+                result.append(
+                        CharClass.test(c, CharClass.UMLAUT_VOWEL) ?
+                                Vowels.removeUmlaut(c)
+                                :
+                                c
+                );
+            }
+        }
+
+        return result.toString();
+    }
+
+
+    private final int cachedCompletionsCount;
+    private final Node root = new Node(new char[0]);
+    private volatile int size;
+
+
+    public AutocompleteIndex() {
+        this(DEFAULT_CACHED_COMPLETIONS_COUNT);
+    }
+
+
+    /**
+     * @param cachedCompletionsCount How many completions are precomputed per prefix:
+     *                               queries asking for more completions must scan the whole subtree
+     */
+    public AutocompleteIndex(int cachedCompletionsCount) {
+        if (cachedCompletionsCount < 1) {
+            throw new IllegalArgumentException(
+                    String.format("The cached completions count must be positive, not %d", cachedCompletionsCount)
+            );
+        }
+
+        this.cachedCompletionsCount = cachedCompletionsCount;
+    }
+
+
+    public void add(String expression) {
+        add(expression, 0);
+    }
+
+
+    /**
+     * Adds an expression - or raises its weight, if it is already in the index with a lower weight.
+     *
+     * @param expression The expression
+     * @param weight     The non-negative weight
+     */
+    public synchronized void add(String expression, long weight) {
+        Completion completion =
+                new Completion(expression, weight);
+
+        char[] key =
+                fold(expression).toCharArray();
+
+        List<Node> path =
+                new ArrayList<>();
+
+        Node node = root;
+        int keyIndex = 0;
+
+        while (true) {
+            path.add(node);
+
+            if (keyIndex == key.length) {
+                break;
+            }
+
+            Node child =
+                    node.findChild(key[keyIndex]);
+
+            if (child == null) {
+                Node leaf =
+                        new Node(Arrays.copyOfRange(key, keyIndex, key.length));
+
+                node.children = withChild(node.children, leaf);
+                path.add(leaf);
+                break;
+            }
+
+            int commonLength =
+                    child.getCommonPrefixLength(key, keyIndex);
+
+            if (commonLength == child.label.length) {
+                node = child;
+                keyIndex += commonLength;
+                continue;
+            }
+
+            Node middle =
+                    splitChild(node, child, commonLength);
+
+            path.add(middle);
+
+            keyIndex += commonLength;
+
+            if (keyIndex < key.length) {
+                Node leaf =
+                        new Node(Arrays.copyOfRange(key, keyIndex, key.length));
+
+                middle.children = withChild(middle.children, leaf);
+                path.add(leaf);
+            }
+            break;
+        }
+
+        Node terminal =
+                path.get(path.size() - 1);
+
+        Completion previousCompletion =
+                terminal.findCompletion(expression);
+
+        if (previousCompletion != null && previousCompletion.getWeight() >= weight) {
+            return;
+        }
+
+        terminal.completions =
+                withCompletion(terminal.completions, previousCompletion, completion, Integer.MAX_VALUE);
+
+        boolean isNewExpression =
+                previousCompletion == null;
+
+        for (Node pathNode : path) {
+            if (isNewExpression) {
+                pathNode.count++;
+            }
+
+            if (pathNode.topCompletions != null) {
+                pathNode.topCompletions =
+                        withCompletion(pathNode.topCompletions, previousCompletion, completion, cachedCompletionsCount);
+            } else if (pathNode.count > cachedCompletionsCount) {
+                pathNode.topCompletions =
+                        collectTopCompletions(pathNode, cachedCompletionsCount);
+            }
+        }
+
+        if (isNewExpression) {
+            size++;
+        }
+    }
+
+
+    /**
+     * Replaces a child with a new node labeled by the first chars of its label,
+     * having as its only child a copy of the original child labeled by the remaining chars.
+     */
+    private static Node splitChild(Node parent, Node child, int prefixLength) {
+        Node suffixNode =
+                new Node(Arrays.copyOfRange(child.label, prefixLength, child.label.length));
+
+        suffixNode.children = child.children;
+        suffixNode.completions = child.completions;
+        suffixNode.topCompletions = child.topCompletions;
+        suffixNode.count = child.count;
+
+        Node middle =
+                new Node(Arrays.copyOf(child.label, prefixLength));
+
+        middle.children = new Node[]{suffixNode};
+        middle.topCompletions = child.topCompletions;
+        middle.count = child.count;
+
+        Node[] parentChildren =
+                parent.children.clone();
+
+        parentChildren[Node.indexOfChild(parentChildren, child.label[0])] = middle;
+        parent.children = parentChildren;
+
+        return middle;
+    }
+
+
+    private static Node[] withChild(Node[] children, Node child) {
+        int insertionIndex = 0;
+
+        while (insertionIndex < children.length && children[insertionIndex].label[0] < child.label[0]) {
+            insertionIndex++;
+        }
+
+        Node[] result =
+                new Node[children.length + 1];
+
+        System.arraycopy(children, 0, result, 0, insertionIndex);
+        result[insertionIndex] = child;
+        System.arraycopy(children, insertionIndex, result, insertionIndex + 1, children.length - insertionIndex);
+
+        return result;
+    }
+
+
+    /**
+     * Returns a new ranked array, where the previous completion - if not null - is replaced by the new one;
+     * the same array is returned when the new completion would not be among the first maxCount.
+     */
+    private static Completion[] withCompletion(
+            Completion[] completions,
+            Completion previousCompletion,
+            Completion completion,
+            int maxCount
+    ) {
+        if (completions.length == maxCount
+                && Completion.RANKING.compare(completion, completions[maxCount - 1]) > 0) {
+            return completions;
+        }
+
+        List<Completion> result =
+                new ArrayList<>(completions.length + 1);
+
+        for (Completion existingCompletion : completions) {
+            if (existingCompletion != previousCompletion) {
+                result.add(existingCompletion);
+            }
+        }
+
+        int insertionIndex =
+                Collections.binarySearch(result, completion, Completion.RANKING);
+
+        result.add(-insertionIndex - 1, completion);
+
+        int resultSize =
+                Math.min(result.size(), maxCount);
+
+        return result.subList(0, resultSize).toArray(NO_COMPLETIONS);
+    }
+
+
+    private static Completion[] collectTopCompletions(Node node, int maxCount) {
+        int subtreeCount =
+                node.count;
+
+        PriorityQueue<Completion> worstFirst =
+                new PriorityQueue<>(Math.min(maxCount, subtreeCount) + 1, Completion.RANKING.reversed());
+
+        Deque<Node> pendingNodes =
+                new ArrayDeque<>();
+
+        pendingNodes.push(node);
+
+        while (!pendingNodes.isEmpty()) {
+            Node currentNode =
+                    pendingNodes.pop();
+
+            for (Completion completion : currentNode.completions) {
+                worstFirst.add(completion);
+
+                if (worstFirst.size() > maxCount) {
+                    worstFirst.poll();
+                }
+            }
+
+            for (Node child : currentNode.children) {
+                pendingNodes.push(child);
+            }
+        }
+
+        Completion[] result =
+                worstFirst.toArray(NO_COMPLETIONS);
+
+        Arrays.sort(result, Completion.RANKING);
+
+        return result;
+    }
+
+
+    public List<Completion> complete(CharSequence prefix) {
+        return complete(prefix, cachedCompletionsCount);
+    }
+
+
+    /**
+     * Finds the best completions of a prefix, which is folded just like the indexed expressions.
+     *
+     * @param prefix   The prefix
+     * @param maxCount The maximum number of completions
+     * @return The completions - by decreasing weight, then by expression
+     */
+    public List<Completion> complete(CharSequence prefix, int maxCount) {
+        if (maxCount < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The max count must not be negative, not %d", maxCount)
+            );
+        }
+
+        String key =
+                fold(prefix);
+
+        Node node = root;
+        int keyIndex = 0;
+
+        while (keyIndex < key.length()) {
+            Node child =
+                    node.findChild(key.charAt(keyIndex));
+
+            if (child == null) {
+                return Collections.emptyList();
+            }
+
+            int comparedLength =
+                    Math.min(child.label.length, key.length() - keyIndex);
+
+            for (int i = 0; i < comparedLength; i++) {
+                if (child.label[i] != key.charAt(keyIndex + i)) {
+                    return Collections.emptyList();
+                }
+            }
+
+            node = child;
+            keyIndex += comparedLength;
+        }
+
+        Completion[] topCompletions =
+                node.topCompletions;
+
+        Completion[] result =
+                (topCompletions != null && maxCount <= topCompletions.length) ?
+                        topCompletions
+                        :
+                        collectTopCompletions(node, maxCount);
+
+        return Collections.unmodifiableList(
+                Arrays.asList(result).subList(0, Math.min(maxCount, result.length))
+        );
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public int getCachedCompletionsCount() {
+        return cachedCompletionsCount;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format("AutocompleteIndex{size=%d}", size);
+    }
+
+
+    /**
+     * Trie node: the label is the text of its incoming edge - the root having an empty label.
+     * Readers only access the volatile fields, which always reference fully-built arrays.
+     */
+    private static class Node {
+        final char[] label;
+
+        volatile Node[] children = NO_CHILDREN;
+        volatile Completion[] completions = NO_COMPLETIONS;
+        volatile Completion[] topCompletions;
+
+        /**
+         * Number of expressions in the subtree - only written by the writer;
+         * readers just use it to size their buffers.
+         */
+        volatile int count;
+
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+
+        static int indexOfChild(Node[] children, char firstChar) {
+            int low = 0;
+            int high = children.length - 1;
+
+            while (low <= high) {
+                int middle =
+                        (low + high) >>> 1;
+
+                char middleChar =
+                        children[middle].label[0];
+
+                if (middleChar < firstChar) {
+                    low = middle + 1;
+                } else if (middleChar > firstChar) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+
+            return -1;
+        }
+
+
+        Node findChild(char firstChar) {
+            Node[] currentChildren = children;
+
+            int childIndex =
+                    indexOfChild(currentChildren, firstChar);
+
+            return childIndex >= 0 ?
+                    currentChildren[childIndex]
+                    :
+                    null;
+        }
+
+
+        int getCommonPrefixLength(char[] key, int keyIndex) {
+            int maxLength =
+                    Math.min(label.length, key.length - keyIndex);
+
+            int length = 0;
+
+            while (length < maxLength && label[length] == key[keyIndex + length]) {
+                length++;
+            }
+
+            return length;
+        }
+
+
+        Completion findCompletion(String expression) {
+            for (Completion completion : completions) {
+                if (completion.getExpression().equals(expression)) {
+                    return completion;
+                }
+            }
+
+            return null;
+        }
+    }
+}
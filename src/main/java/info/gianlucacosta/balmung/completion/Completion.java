@@ -0,0 +1,88 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.completion;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Expression suggested by an {@link AutocompleteIndex}, with its weight.
+ */
+public final class Completion {
+    /**
+     * Orders completions by decreasing weight, then by expression.
+     */
+    public static final Comparator<Completion> RANKING =
+            Comparator
+                    .comparingLong(Completion::getWeight)
+                    .reversed()
+                    .thenComparing(Completion::getExpression);
+
+
+    private final String expression;
+    private final long weight;
+
+
+    public Completion(String expression, long weight) {
+        Objects.requireNonNull(expression);
+
+        if (weight < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The weight must not be negative, not %d", weight)
+            );
+        }
+
+        this.expression = expression;
+        this.weight = weight;
+    }
+
+
+    public String getExpression() {
+        return expression;
+    }
+
+
+    public long getWeight() {
+        return weight;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Completion)) return false;
+        Completion that = (Completion) o;
+        return weight == that.weight &&
+                expression.equals(that.expression);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expression, weight);
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d)", expression, weight);
+    }
+}
@@ -0,0 +1,178 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.inflection;
+
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.NounDeclension;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.transform.extensive.ParadigmGenerator;
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransform;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Describes how a noun's declension cells derive from its expression.
+ * <p>
+ * It contains one suffix transform per cell - or null for missing cells - for both the main
+ * and the alternative declension: nouns sharing a signature belong to the same inflection class.
+ */
+public class DeclensionSignature {
+    static final int DECLENSION_CELLS_COUNT = Numerus.values().length * Kasus.values().length;
+
+    private static final String NO_CELL = "•";
+    private static final String CELL_SEPARATOR = ", ";
+    private static final String DECLENSION_SEPARATOR = " | ";
+
+
+    static int getCellIndex(boolean isMainDeclension, Numerus numerus, Kasus kasus) {
+        return (isMainDeclension ? 0 : DECLENSION_CELLS_COUNT) +
+                (Kasus.values().length * numerus.ordinal()) +
+                kasus.ordinal();
+    }
+
+
+    private final SuffixTransform[] cellTransforms;
+    private final int hashCode;
+
+    private ParadigmGenerator paradigmGenerator;
+
+
+    DeclensionSignature(SuffixTransform[] cellTransforms) {
+        this.cellTransforms = cellTransforms;
+        this.hashCode = Arrays.hashCode(cellTransforms);
+    }
+
+
+    public Optional<SuffixTransform> getCellTransform(boolean isMainDeclension, Numerus numerus, Kasus kasus) {
+        return Optional.ofNullable(
+                cellTransforms[getCellIndex(isMainDeclension, numerus, kasus)]
+        );
+    }
+
+
+    public boolean hasAlternativeDeclension() {
+        for (int i = DECLENSION_CELLS_COUNT; i < cellTransforms.length; i++) {
+            if (cellTransforms[i] != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Applies the signature to an expression, rebuilding its declension.
+     *
+     * @param expression       The noun's expression
+     * @param isMainDeclension true for the main declension, false for the alternative one
+     * @return The declension, if at least one of its cells is defined
+     */
+    public Optional<NounDeclension> generateDeclension(String expression, boolean isMainDeclension) {
+        String[] paradigm =
+                getParadigmGenerator().generate(expression);
+
+        int offset =
+                isMainDeclension ? 0 : DECLENSION_CELLS_COUNT;
+
+        String[] cells = new String[DECLENSION_CELLS_COUNT];
+
+        int paradigmIndex = 0;
+
+        for (int i = 0; i < cellTransforms.length; i++) {
+            if (cellTransforms[i] != null) {
+                if (i >= offset && i < offset + DECLENSION_CELLS_COUNT) {
+                    cells[i - offset] = paradigm[paradigmIndex];
+                }
+
+                paradigmIndex++;
+            }
+        }
+
+        return NounDeclension.createOption(
+                cells[0],
+                cells[1],
+                cells[2],
+                cells[3],
+
+                cells[4],
+                cells[5],
+                cells[6],
+                cells[7]
+        );
+    }
+
+
+    private ParadigmGenerator getParadigmGenerator() {
+        if (paradigmGenerator == null) {
+            paradigmGenerator = new ParadigmGenerator(
+                    Arrays
+                            .stream(cellTransforms)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList())
+            );
+        }
+
+        return paradigmGenerator;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DeclensionSignature)) return false;
+        DeclensionSignature that = (DeclensionSignature) o;
+        return hashCode == that.hashCode &&
+                Arrays.equals(cellTransforms, that.cellTransforms);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        String mainDeclensionString =
+                formatCells(0);
+
+        if (!hasAlternativeDeclension()) {
+            return mainDeclensionString;
+        }
+
+        return mainDeclensionString + DECLENSION_SEPARATOR + formatCells(DECLENSION_CELLS_COUNT);
+    }
+
+
+    private String formatCells(int offset) {
+        return IntStream
+                .range(offset, offset + DECLENSION_CELLS_COUNT)
+                .mapToObj(i ->
+                        (cellTransforms[i] != null) ?
+                                cellTransforms[i].toString()
+                                :
+                                NO_CELL
+                )
+                .collect(Collectors.joining(CELL_SEPARATOR, "[", "]"));
+    }
+}
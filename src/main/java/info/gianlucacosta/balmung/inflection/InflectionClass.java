@@ -0,0 +1,70 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.inflection;
+
+import java.util.Objects;
+
+public class InflectionClass {
+    private final int id;
+    private final DeclensionSignature signature;
+    private final int nounCount;
+
+
+    InflectionClass(int id, DeclensionSignature signature, int nounCount) {
+        this.id = id;
+        this.signature = signature;
+        this.nounCount = nounCount;
+    }
+
+
+    public int getId() {
+        return id;
+    }
+
+    public DeclensionSignature getSignature() {
+        return signature;
+    }
+
+    public int getNounCount() {
+        return nounCount;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InflectionClass)) return false;
+        InflectionClass that = (InflectionClass) o;
+        return id == that.id &&
+                nounCount == that.nounCount &&
+                Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, signature, nounCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s (%d nouns)", id, signature, nounCount);
+    }
+}
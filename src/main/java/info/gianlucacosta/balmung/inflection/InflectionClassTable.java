@@ -0,0 +1,85 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.inflection;
+
+import info.gianlucacosta.balmung.lexicon.Noun;
+
+import java.util.*;
+
+/**
+ * Result of the classification of a lexicon's nouns.
+ * <p>
+ * Inflection class ids are dense - starting from 0 - and assigned by decreasing number of nouns.
+ */
+public class InflectionClassTable {
+    private final List<InflectionClass> inflectionClasses;
+    private final Map<Noun, Integer> classIds;
+    private final List<Noun> unclassifiedNouns;
+
+
+    InflectionClassTable(List<InflectionClass> inflectionClasses, Map<Noun, Integer> classIds, List<Noun> unclassifiedNouns) {
+        this.inflectionClasses = Collections.unmodifiableList(inflectionClasses);
+        this.classIds = Collections.unmodifiableMap(classIds);
+        this.unclassifiedNouns = Collections.unmodifiableList(unclassifiedNouns);
+    }
+
+
+    public List<InflectionClass> getInflectionClasses() {
+        return inflectionClasses;
+    }
+
+
+    public InflectionClass getInflectionClass(int classId) {
+        if (classId < 0 || classId >= inflectionClasses.size()) {
+            throw new IllegalArgumentException(
+                    String.format("Unknown inflection class id: %d", classId)
+            );
+        }
+
+        return inflectionClasses.get(classId);
+    }
+
+
+    public OptionalInt getClassId(Noun noun) {
+        Integer classId = classIds.get(noun);
+
+        return (classId != null) ?
+                OptionalInt.of(classId)
+                :
+                OptionalInt.empty();
+    }
+
+
+    public Map<Noun, Integer> getClassIds() {
+        return classIds;
+    }
+
+
+    /**
+     * Nouns having at least one declension cell shorter than their expression,
+     * which suffix transforms cannot describe.
+     *
+     * @return The unclassified nouns
+     */
+    public List<Noun> getUnclassifiedNouns() {
+        return unclassifiedNouns;
+    }
+}
@@ -0,0 +1,176 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.inflection;
+
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransform;
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransformRegistry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Groups nouns by declension signature - in parallel, on the common fork/join pool.
+ * <p>
+ * All the signatures share the canonical transforms of the classifier's registry.
+ */
+public class InflectionClassifier {
+    private final SuffixTransformRegistry registry;
+
+
+    public InflectionClassifier() {
+        this(new SuffixTransformRegistry());
+    }
+
+
+    public InflectionClassifier(SuffixTransformRegistry registry) {
+        Objects.requireNonNull(registry);
+
+        this.registry = registry;
+    }
+
+
+    public SuffixTransformRegistry getRegistry() {
+        return registry;
+    }
+
+
+    /**
+     * Computes the signature of a noun.
+     *
+     * @param noun The noun
+     * @return The signature - or an empty option if a declension cell is shorter than the expression
+     */
+    public Optional<DeclensionSignature> computeSignature(Noun noun) {
+        SuffixTransform[] cellTransforms =
+                new SuffixTransform[2 * DeclensionSignature.DECLENSION_CELLS_COUNT];
+
+        String expression =
+                noun.getExpression();
+
+        if (!fillCellTransforms(noun, expression, true, cellTransforms) ||
+                !fillCellTransforms(noun, expression, false, cellTransforms)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(
+                new DeclensionSignature(cellTransforms)
+        );
+    }
+
+
+    private boolean fillCellTransforms(
+            Noun noun,
+            String expression,
+            boolean isMainDeclension,
+            SuffixTransform[] cellTransforms
+    ) {
+        for (Numerus numerus : Numerus.values()) {
+            for (Kasus kasus : Kasus.values()) {
+                String cell =
+                        isMainDeclension ?
+                                noun.expressionOrNull(numerus, kasus)
+                                :
+                                noun.alternativeExpressionOrNull(numerus, kasus);
+
+                if (cell != null) {
+                    if (cell.length() < expression.length()) {
+                        return false;
+                    }
+
+                    cellTransforms[DeclensionSignature.getCellIndex(isMainDeclension, numerus, kasus)] =
+                            registry.compute(expression, cell);
+                }
+            }
+        }
+
+        return true;
+    }
+
+
+    public InflectionClassTable classify(Collection<Noun> nouns) {
+        Objects.requireNonNull(nouns);
+
+        Map<Noun, Optional<DeclensionSignature>> signatureOptions =
+                nouns
+                        .parallelStream()
+                        .distinct()
+                        .collect(Collectors.toConcurrentMap(
+                                noun -> noun,
+                                this::computeSignature
+                        ));
+
+        ConcurrentMap<DeclensionSignature, List<Noun>> signatureNouns =
+                signatureOptions
+                        .entrySet()
+                        .parallelStream()
+                        .filter(signatureEntry -> signatureEntry.getValue().isPresent())
+                        .collect(Collectors.groupingByConcurrent(
+                                signatureEntry -> signatureEntry.getValue().get(),
+                                Collectors.mapping(
+                                        Map.Entry::getKey,
+                                        Collectors.toList()
+                                )
+                        ));
+
+        List<DeclensionSignature> sortedSignatures =
+                signatureNouns
+                        .keySet()
+                        .stream()
+                        .sorted(
+                                Comparator
+                                        .comparing((DeclensionSignature signature) -> signatureNouns.get(signature).size())
+                                        .reversed()
+                                        .thenComparing(DeclensionSignature::toString)
+                        )
+                        .collect(Collectors.toList());
+
+        List<InflectionClass> inflectionClasses = new ArrayList<>();
+        Map<Noun, Integer> classIds = new HashMap<>();
+
+        for (DeclensionSignature signature : sortedSignatures) {
+            int classId = inflectionClasses.size();
+
+            List<Noun> classNouns =
+                    signatureNouns.get(signature);
+
+            inflectionClasses.add(
+                    new InflectionClass(classId, signature, classNouns.size())
+            );
+
+            classNouns.forEach(noun -> classIds.put(noun, classId));
+        }
+
+        List<Noun> unclassifiedNouns =
+                signatureOptions
+                        .entrySet()
+                        .stream()
+                        .filter(signatureEntry -> !signatureEntry.getValue().isPresent())
+                        .map(Map.Entry::getKey)
+                        .sorted(Comparator.comparing(Noun::getExpression))
+                        .collect(Collectors.toList());
+
+        return new InflectionClassTable(inflectionClasses, classIds, unclassifiedNouns);
+    }
+}
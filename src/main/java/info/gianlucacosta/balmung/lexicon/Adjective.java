@@ -28,6 +28,9 @@ import java.util.*;
 @Entity
 @Table(name = "Adjectives")
 public class Adjective extends Lemma {
+    private static final AdjectiveForm[] FORMS = AdjectiveForm.values();
+
+
     private String comparative;
     private String superlative;
 
@@ -83,6 +86,39 @@ public class Adjective extends Lemma {
     }
 
 
+    /**
+     * Allocation-free alternative to the Optional-returning getters.
+     *
+     * @param form The requested form
+     * @return The form's expression, or null if missing
+     */
+    public String formOrNull(AdjectiveForm form) {
+        switch (form) {
+            case COMPARATIVE:
+                return comparative;
+
+            case SUPERLATIVE:
+                return superlative;
+
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Unsupported adjective form: %s", form)
+                );
+        }
+    }
+
+
+    public void forEachForm(FormConsumer<AdjectiveForm> consumer) {
+        for (AdjectiveForm form : FORMS) {
+            String expression = formOrNull(form);
+
+            if (expression != null) {
+                consumer.accept(form, expression);
+            }
+        }
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,49 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.lexicon;
+
+import info.gianlucacosta.balmung.transform.util.CompactWord;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Lets entity attributes be held in memory as CompactWord while being stored as plain strings.
+ */
+@Converter
+public class CompactWordConverter implements AttributeConverter<CompactWord, String> {
+    @Override
+    public String convertToDatabaseColumn(CompactWord word) {
+        return word != null ?
+                word.toString()
+                :
+                null;
+    }
+
+
+    @Override
+    public CompactWord convertToEntityAttribute(String value) {
+        return value != null ?
+                CompactWord.of(value)
+                :
+                null;
+    }
+}
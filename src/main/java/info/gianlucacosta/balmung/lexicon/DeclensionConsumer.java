@@ -0,0 +1,31 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.lexicon;
+
+/**
+ * Visitor receiving the cells of a noun declension, numerus by numerus and kasus by kasus.
+ * <p>
+ * Missing cells are skipped, so no null expression is ever passed.
+ */
+@FunctionalInterface
+public interface DeclensionConsumer {
+    void accept(Numerus numerus, Kasus kasus, String expression);
+}
@@ -0,0 +1,33 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.lexicon;
+
+/**
+ * Visitor receiving the forms of a lemma, in the ordinal order of the form enum.
+ * <p>
+ * Missing forms are skipped, so no null expression is ever passed.
+ *
+ * @param <F> The form enum
+ */
+@FunctionalInterface
+public interface FormConsumer<F extends Enum<F>> {
+    void accept(F form, String expression);
+}
@@ -176,10 +176,7 @@ public class Lemma {
         }
 
         this.expression = expression;
-        this.categoriesString = String.join(
-                CATEGORIES_SEPARATOR,
-                categories.stream().sorted().collect(Collectors.toList())
-        );
+        this.categoriesString = buildCategoriesString(categories);
 
         this.syllables = Collections.unmodifiableList(syllables);
         this.pronunciation = pronunciationOption.orElse(null);
@@ -195,6 +192,19 @@ public class Lemma {
     }
 
 
+    LemmaId getId() {
+        return new LemmaId(expression, categoriesString);
+    }
+
+
+    static String buildCategoriesString(Set<String> categories) {
+        return String.join(
+                CATEGORIES_SEPARATOR,
+                categories.stream().sorted().collect(Collectors.toList())
+        );
+    }
+
+
     public Set<String> getCategories() {
         if (categories == null) {
             categories =
@@ -216,6 +226,10 @@ public class Lemma {
         return Optional.ofNullable(pronunciation);
     }
 
+    public String pronunciationOrNull() {
+        return pronunciation;
+    }
+
     public Set<String> getSynonyms() {
         return synonyms;
     }
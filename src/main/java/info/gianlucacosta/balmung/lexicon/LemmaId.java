@@ -28,6 +28,16 @@ class LemmaId implements Serializable {
     public String categoriesString;
 
 
+    LemmaId() {
+    }
+
+
+    LemmaId(String expression, String categoriesString) {
+        this.expression = expression;
+        this.categoriesString = categoriesString;
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -41,4 +51,9 @@ class LemmaId implements Serializable {
     public int hashCode() {
         return Objects.hash(expression, categoriesString);
     }
+
+    @Override
+    public String toString() {
+        return expression + " [" + categoriesString + "]";
+    }
 }
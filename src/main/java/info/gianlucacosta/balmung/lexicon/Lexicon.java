@@ -0,0 +1,213 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.lexicon;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, in-memory collection of lemmas, indexed for constant-time lookups.
+ * <p>
+ * The primary index maps each lemma's id - expression and categories - to the lemma;
+ * the secondary indexes map expressions, categories, hypernyms and genera to the
+ * lemmas having them, in the order in which they were passed to the constructor.
+ * <p>
+ * The indexes are built in parallel and never modified afterwards, so any number of
+ * threads can query a lexicon concurrently.
+ */
+public class Lexicon {
+    private final List<Lemma> lemmas;
+    private final List<Noun> nouns;
+    private final List<Verb> verbs;
+    private final List<Adjective> adjectives;
+
+    private final Map<LemmaId, Lemma> lemmasById;
+    private final Map<String, List<Lemma>> lemmasByExpression;
+    private final Map<String, List<Lemma>> lemmasByCategory;
+    private final Map<String, List<Lemma>> lemmasByHypernym;
+    private final Map<Genus, List<Noun>> nounsByGenus;
+
+
+    public Lexicon(Collection<? extends Lemma> lemmas) {
+        Objects.requireNonNull(lemmas);
+
+        this.lemmas =
+                Collections.unmodifiableList(new ArrayList<>(lemmas));
+
+        this.nouns = filterLemmas(Noun.class);
+        this.verbs = filterLemmas(Verb.class);
+        this.adjectives = filterLemmas(Adjective.class);
+
+        this.lemmasById =
+                Collections.unmodifiableMap(
+                        this.lemmas
+                                .parallelStream()
+                                .collect(Collectors.toMap(
+                                        Lemma::getId,
+                                        Function.identity(),
+                                        (lemma, duplicateLemma) -> {
+                                            throw new IllegalArgumentException(
+                                                    String.format("Duplicate lemma: %s", lemma.getId())
+                                            );
+                                        }
+                                ))
+                );
+
+        this.lemmasByExpression =
+                buildIndex(this.lemmas, lemma -> Stream.of(lemma.getExpression()));
+
+        this.lemmasByCategory =
+                buildIndex(this.lemmas, lemma -> lemma.getCategories().stream());
+
+        this.lemmasByHypernym =
+                buildIndex(this.lemmas, lemma -> lemma.getHypernyms().stream());
+
+        Map<Genus, List<Noun>> nounsByGenus =
+                new EnumMap<>(Genus.class);
+
+        nounsByGenus.putAll(
+                buildIndex(this.nouns, noun -> {
+                    Genus genus = noun.genusOrNull();
+
+                    return genus != null ?
+                            Stream.of(genus)
+                            :
+                            Stream.empty();
+                })
+        );
+
+        this.nounsByGenus = Collections.unmodifiableMap(nounsByGenus);
+    }
+
+
+    private <T extends Lemma> List<T> filterLemmas(Class<T> lemmaClass) {
+        return Collections.unmodifiableList(
+                lemmas
+                        .parallelStream()
+                        .filter(lemmaClass::isInstance)
+                        .map(lemmaClass::cast)
+                        .collect(Collectors.toList())
+        );
+    }
+
+
+    private static <K, T extends Lemma> Map<K, List<T>> buildIndex(
+            List<T> indexedLemmas,
+            Function<T, Stream<K>> keysExtractor
+    ) {
+        Map<K, List<T>> index =
+                indexedLemmas
+                        .parallelStream()
+                        .flatMap(lemma ->
+                                keysExtractor
+                                        .apply(lemma)
+                                        .map(key -> new AbstractMap.SimpleImmutableEntry<>(key, lemma))
+                        )
+                        .collect(Collectors.groupingBy(
+                                Map.Entry::getKey,
+                                Collectors.mapping(
+                                        Map.Entry::getValue,
+                                        Collectors.collectingAndThen(
+                                                Collectors.toList(),
+                                                Collections::unmodifiableList
+                                        )
+                                )
+                        ));
+
+        return Collections.unmodifiableMap(index);
+    }
+
+
+    public Optional<Lemma> getLemma(String expression, Set<String> categories) {
+        Objects.requireNonNull(expression);
+        Objects.requireNonNull(categories);
+
+        return Optional.ofNullable(
+                lemmasById.get(
+                        new LemmaId(expression, Lemma.buildCategoriesString(categories))
+                )
+        );
+    }
+
+
+    public List<Lemma> getLemmasByExpression(String expression) {
+        return lemmasByExpression.getOrDefault(expression, Collections.emptyList());
+    }
+
+
+    public List<Lemma> getLemmasByCategory(String category) {
+        return lemmasByCategory.getOrDefault(category, Collections.emptyList());
+    }
+
+
+    public List<Lemma> getLemmasByHypernym(String hypernym) {
+        return lemmasByHypernym.getOrDefault(hypernym, Collections.emptyList());
+    }
+
+
+    public List<Noun> getNounsByGenus(Genus genus) {
+        return nounsByGenus.getOrDefault(genus, Collections.emptyList());
+    }
+
+
+    public Set<String> getCategories() {
+        return lemmasByCategory.keySet();
+    }
+
+
+    public List<Lemma> getLemmas() {
+        return lemmas;
+    }
+
+
+    public List<Noun> getNouns() {
+        return nouns;
+    }
+
+
+    public List<Verb> getVerbs() {
+        return verbs;
+    }
+
+
+    public List<Adjective> getAdjectives() {
+        return adjectives;
+    }
+
+
+    public int size() {
+        return lemmas.size();
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Lexicon{lemmas=%d, nouns=%d, verbs=%d, adjectives=%d}",
+                lemmas.size(),
+                nouns.size(),
+                verbs.size(),
+                adjectives.size()
+        );
+    }
+}
@@ -26,51 +26,31 @@ import java.util.*;
 
 @Entity
 @Table(name = "Nouns")
+@Access(AccessType.FIELD)
 public class Noun extends Lemma {
+    private static final int DECLENSION_CELLS_COUNT = 2 * NounDeclension.CELLS_COUNT;
+
+
     /**
      * Creates a key to access an expression in either the main or the alternative declension.
      * <p>
-     * To simplify storage, both declensions are actually kept in a single map - whose key is
+     * To simplify storage, both declensions are actually kept in a single array - whose index is
      * defined by the element's (main|alternative declension, numerus, kasus) coordinate.
      *
      * @param isMainDeclension true if the element to access is in the main declension, false for the alternative
      * @param numerus          The numerus
      * @param kasus            The casus
-     * @return The ley to access the internal declension map
+     * @return The key to access the internal declension array
      */
     private static int buildDeclensionKey(boolean isMainDeclension, Numerus numerus, Kasus kasus) {
-        return (isMainDeclension ? 0 : 8) + (4 * numerus.ordinal()) + kasus.ordinal();
+        return (isMainDeclension ? 0 : NounDeclension.CELLS_COUNT) + NounDeclension.getCellIndex(numerus, kasus);
     }
 
 
     private Genus genus;
 
-    @ElementCollection
-    @MapKeyColumn(
-            name = "key"
-    )
-    @Column(
-            name = "expression",
-            nullable = false
-    )
-    @CollectionTable(
-            name = "Noun_Declension",
-            joinColumns = {
-                    @JoinColumn(
-                            name = "lemmaExpression",
-                            referencedColumnName = "expression"
-                    ),
-
-                    @JoinColumn(
-                            name = "lemmaCategories",
-                            referencedColumnName = "categories"
-                    )
-            },
-            uniqueConstraints = @UniqueConstraint(
-                    columnNames = {"lemmaExpression", "lemmaCategories", "key", "expression"}
-            )
-    )
-    private Map<Integer, String> declensions;
+    private transient String[] declensionCells = new String[DECLENSION_CELLS_COUNT];
+    private transient Map<Integer, String> declensionMap;
 
     private transient NounDeclension declension;
     private transient Optional<NounDeclension> alternativeDeclensionOption;
@@ -119,38 +99,114 @@ public class Noun extends Lemma {
         Objects.requireNonNull(alternativeDeclensionOption);
 
         this.genus = genusOption.orElse(null);
-        this.declensions = new HashMap<>();
 
-        storeDeclensionToInternalMap(
-                Optional.of(declension),
+        storeDeclensionToInternalArray(
+                declension,
                 true
         );
 
-        storeDeclensionToInternalMap(
-                alternativeDeclensionOption,
-                false
+        alternativeDeclensionOption.ifPresent(alternativeDeclension ->
+                storeDeclensionToInternalArray(
+                        alternativeDeclension,
+                        false
+                )
         );
     }
 
 
-    private void storeDeclensionToInternalMap(Optional<NounDeclension> declensionToStoreOption, boolean isMainDeclension) {
-        declensionToStoreOption.ifPresent(declensionToStore ->
-                Arrays
-                        .stream(Numerus.values())
-                        .forEach(numerus ->
-                                Arrays
-                                        .stream(Kasus.values())
-                                        .forEach(kasus -> {
-                                            Optional<String> expressionOption =
-                                                    declensionToStore.getExpression(numerus, kasus);
+    private void storeDeclensionToInternalArray(NounDeclension declensionToStore, boolean isMainDeclension) {
+        declensionToStore.copyCellsTo(
+                declensionCells,
+                isMainDeclension ? 0 : NounDeclension.CELLS_COUNT
+        );
+    }
 
-                                            expressionOption.ifPresent(expression -> {
-                                                int key =
-                                                        buildDeclensionKey(isMainDeclension, numerus, kasus);
 
-                                                declensions.put(key, expression);
-                                            });
-                                        })));
+    /**
+     * Declension cells as a map, used by the persistence provider to keep the
+     * original Noun_Declension table layout.
+     * <p>
+     * The map received from the provider is only kept until the cells are first read:
+     * it is then copied into the flat cell array and released - so that the collection is
+     * not loaded for nouns whose declensions are never accessed. Afterwards, each call
+     * returns a new map built from the cells: as a consequence, flushing a managed noun
+     * whose cells were read rewrites its declension rows.
+     *
+     * @return The map, from declension key to expression
+     */
+    @Access(AccessType.PROPERTY)
+    @ElementCollection
+    @MapKeyColumn(
+            name = "key"
+    )
+    @Column(
+            name = "expression",
+            nullable = false
+    )
+    @CollectionTable(
+            name = "Noun_Declension",
+            joinColumns = {
+                    @JoinColumn(
+                            name = "lemmaExpression",
+                            referencedColumnName = "expression"
+                    ),
+
+                    @JoinColumn(
+                            name = "lemmaCategories",
+                            referencedColumnName = "categories"
+                    )
+            },
+            uniqueConstraints = @UniqueConstraint(
+                    columnNames = {"lemmaExpression", "lemmaCategories", "key", "expression"}
+            )
+    )
+    protected Map<Integer, String> getDeclensions() {
+        if (declensionMap != null) {
+            return declensionMap;
+        }
+
+        Map<Integer, String> declensions = new HashMap<>();
+
+        for (int key = 0; key < DECLENSION_CELLS_COUNT; key++) {
+            if (declensionCells[key] != null) {
+                declensions.put(key, declensionCells[key]);
+            }
+        }
+
+        return declensions;
+    }
+
+
+    protected void setDeclensions(Map<Integer, String> declensions) {
+        declensionMap = declensions;
+        declensionCells = null;
+        declension = null;
+        alternativeDeclensionOption = null;
+    }
+
+
+    /**
+     * @return The cells - copied, on first access, from the map received from the provider
+     */
+    private String[] getDeclensionCells() {
+        if (declensionCells == null) {
+            String[] newDeclensionCells = new String[DECLENSION_CELLS_COUNT];
+
+            declensionMap.forEach((key, expression) -> {
+                if (key < 0 || key >= DECLENSION_CELLS_COUNT) {
+                    throw new IllegalArgumentException(
+                            String.format("Invalid declension key: %d", key)
+                    );
+                }
+
+                newDeclensionCells[key] = expression;
+            });
+
+            declensionCells = newDeclensionCells;
+            declensionMap = null;
+        }
+
+        return declensionCells;
     }
 
 
@@ -159,9 +215,14 @@ public class Noun extends Lemma {
     }
 
 
+    public Genus genusOrNull() {
+        return genus;
+    }
+
+
     public NounDeclension getDeclension() {
         if (declension == null) {
-            declension = initializeDeclensionFromInternalMap(true).get();
+            declension = initializeDeclensionFromInternalArray(true).get();
         }
 
         return declension;
@@ -170,41 +231,49 @@ public class Noun extends Lemma {
 
     public Optional<NounDeclension> getAlternativeDeclension() {
         if (alternativeDeclensionOption == null) {
-            alternativeDeclensionOption = initializeDeclensionFromInternalMap(false);
+            alternativeDeclensionOption = initializeDeclensionFromInternalArray(false);
         }
 
         return alternativeDeclensionOption;
     }
 
 
-    private Optional<NounDeclension> initializeDeclensionFromInternalMap(boolean isMainDeclension) {
-        Map<Numerus, Map<Kasus, String>> declensionMap = new HashMap<>();
+    public Optional<String> getExpression(Numerus numerus, Kasus kasus) {
+        return Optional.ofNullable(
+                getDeclensionCells()[buildDeclensionKey(true, numerus, kasus)]
+        );
+    }
+
+
+    public Optional<String> getAlternativeExpression(Numerus numerus, Kasus kasus) {
+        return Optional.ofNullable(
+                getDeclensionCells()[buildDeclensionKey(false, numerus, kasus)]
+        );
+    }
 
-        Arrays
-                .stream(Numerus.values())
-                .forEach(numerus -> {
-                    Map<Kasus, String> numerusMap = new HashMap<>();
 
-                    Arrays
-                            .stream(Kasus.values())
-                            .forEach(kasus -> {
-                                int key =
-                                        buildDeclensionKey(isMainDeclension, numerus, kasus);
+    /**
+     * Allocation-free alternative to getExpression().
+     *
+     * @param numerus The numerus
+     * @param kasus   The kasus
+     * @return The expression in the main declension, or null if missing
+     */
+    public String expressionOrNull(Numerus numerus, Kasus kasus) {
+        return getDeclensionCells()[buildDeclensionKey(true, numerus, kasus)];
+    }
 
-                                String expression =
-                                        declensions.get(key);
 
-                                if (expression != null) {
-                                    numerusMap.put(kasus, expression);
-                                }
-                            });
+    public String alternativeExpressionOrNull(Numerus numerus, Kasus kasus) {
+        return getDeclensionCells()[buildDeclensionKey(false, numerus, kasus)];
+    }
 
-                    if (!numerusMap.isEmpty()) {
-                        declensionMap.put(numerus, numerusMap);
-                    }
-                });
 
-        return NounDeclension.createOption(declensionMap);
+    private Optional<NounDeclension> initializeDeclensionFromInternalArray(boolean isMainDeclension) {
+        return NounDeclension.createOption(
+                getDeclensionCells(),
+                isMainDeclension ? 0 : NounDeclension.CELLS_COUNT
+        );
     }
 
 
@@ -215,13 +284,13 @@ public class Noun extends Lemma {
         if (!super.equals(o)) return false;
         Noun noun = (Noun) o;
         return genus == noun.genus &&
-                Objects.equals(declensions, noun.declensions);
+                Arrays.equals(getDeclensionCells(), noun.getDeclensionCells());
     }
 
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), genus, declensions);
+        return Objects.hash(super.hashCode(), genus, Arrays.hashCode(getDeclensionCells()));
     }
 
 
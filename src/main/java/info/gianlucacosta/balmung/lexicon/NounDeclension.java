@@ -21,7 +21,6 @@
 package info.gianlucacosta.balmung.lexicon;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class NounDeclension {
     private static final String NO_NUMERUS_MAP = "•";
@@ -29,6 +28,24 @@ public class NounDeclension {
 
     private static final String ITEM_SEPARATOR = ", ";
 
+    private static final Numerus[] NUMERI = Numerus.values();
+    private static final Kasus[] KASUS_VALUES = Kasus.values();
+
+    private static final int KASUS_COUNT = KASUS_VALUES.length;
+    static final int CELLS_COUNT = NUMERI.length * KASUS_COUNT;
+
+
+    /**
+     * Returns the index of a cell in the flat representation of a declension.
+     *
+     * @param numerus The numerus
+     * @param kasus   The kasus
+     * @return The cell index
+     */
+    static int getCellIndex(Numerus numerus, Kasus kasus) {
+        return numerus.ordinal() * KASUS_COUNT + kasus.ordinal();
+    }
+
 
     public static Optional<NounDeclension> createOption(
             String singularNominative,
@@ -41,76 +58,69 @@ public class NounDeclension {
             String pluralDative,
             String pluralGenitive
     ) {
-        Map<Kasus, String> singularMap = new HashMap<>();
-        singularMap.put(Kasus.NOMINATIV, singularNominative);
-        singularMap.put(Kasus.AKKUSATIV, singularAccusative);
-        singularMap.put(Kasus.DATIV, singularDative);
-        singularMap.put(Kasus.GENITIV, singularGenitive);
+        String[] cells = new String[CELLS_COUNT];
 
-        Map<Kasus, String> pluralMap = new HashMap<>();
-        pluralMap.put(Kasus.NOMINATIV, pluralNominative);
-        pluralMap.put(Kasus.AKKUSATIV, pluralAccusative);
-        pluralMap.put(Kasus.DATIV, pluralDative);
-        pluralMap.put(Kasus.GENITIV, pluralGenitive);
+        cells[getCellIndex(Numerus.SINGULAR, Kasus.NOMINATIV)] = singularNominative;
+        cells[getCellIndex(Numerus.SINGULAR, Kasus.AKKUSATIV)] = singularAccusative;
+        cells[getCellIndex(Numerus.SINGULAR, Kasus.DATIV)] = singularDative;
+        cells[getCellIndex(Numerus.SINGULAR, Kasus.GENITIV)] = singularGenitive;
 
-        Map<Numerus, Map<Kasus, String>> declensionMap = new HashMap<>();
+        cells[getCellIndex(Numerus.PLURAL, Kasus.NOMINATIV)] = pluralNominative;
+        cells[getCellIndex(Numerus.PLURAL, Kasus.AKKUSATIV)] = pluralAccusative;
+        cells[getCellIndex(Numerus.PLURAL, Kasus.DATIV)] = pluralDative;
+        cells[getCellIndex(Numerus.PLURAL, Kasus.GENITIV)] = pluralGenitive;
 
-        declensionMap.put(Numerus.SINGULAR, singularMap);
-        declensionMap.put(Numerus.PLURAL, pluralMap);
-
-        return createOption(declensionMap);
+        return createOptionFromOwnedCells(cells);
     }
 
 
     public static Optional<NounDeclension> createOption(Map<Numerus, Map<Kasus, String>> declensionMap) {
         Objects.requireNonNull(declensionMap);
 
-        Map<Numerus, Map<Kasus, String>> filteredDeclensionMap =
-                declensionMap
-                        .entrySet()
-                        .stream()
-                        .map(declensionMapEntry -> {
-                            Numerus numerus =
-                                    declensionMapEntry.getKey();
-
-                            Map<Kasus, String> numerusMap =
-                                    declensionMapEntry.getValue();
-
-                            Map<Kasus, String> filteredNumerusMap =
-                                    numerusMap
-                                            .entrySet()
-                                            .stream()
-                                            .filter(numerusMapEntry -> {
-                                                String expression =
-                                                        numerusMapEntry.getValue();
-
-                                                return expression != null && !expression.isEmpty();
-                                            })
-                                            .collect(Collectors.toMap(
-                                                    Map.Entry::getKey,
-                                                    Map.Entry::getValue
-                                            ));
-
-                            return new AbstractMap.SimpleEntry<>(
-                                    numerus,
-                                    filteredNumerusMap
-                            );
-
-                        })
-                        .filter(declensionMapEntry ->
-                                !declensionMapEntry.getValue().isEmpty()
-                        )
-                        .collect(Collectors.toMap(
-                                Map.Entry::getKey,
-                                Map.Entry::getValue
-                        ));
-
-
-        if (filteredDeclensionMap.isEmpty()) {
+        String[] cells = new String[CELLS_COUNT];
+
+        declensionMap.forEach((numerus, numerusMap) ->
+                numerusMap.forEach((kasus, expression) ->
+                        cells[getCellIndex(numerus, kasus)] = expression
+                )
+        );
+
+        return createOptionFromOwnedCells(cells);
+    }
+
+
+    /**
+     * Creates a declension from a range of cells in flat layout.
+     *
+     * @param source The array containing the cells - it is copied
+     * @param offset The index of the first cell
+     * @return The declension, or an empty option if no cell is filled
+     */
+    static Optional<NounDeclension> createOption(String[] source, int offset) {
+        return createOptionFromOwnedCells(
+                Arrays.copyOfRange(source, offset, offset + CELLS_COUNT)
+        );
+    }
+
+
+    private static Optional<NounDeclension> createOptionFromOwnedCells(String[] cells) {
+        boolean hasCells = false;
+
+        for (int i = 0; i < CELLS_COUNT; i++) {
+            String expression = cells[i];
+
+            if (expression == null || expression.isEmpty()) {
+                cells[i] = null;
+            } else {
+                hasCells = true;
+            }
+        }
+
+        if (!hasCells) {
             return Optional.empty();
         } else {
             return Optional.of(
-                    new NounDeclension(filteredDeclensionMap)
+                    new NounDeclension(cells)
             );
         }
     }
@@ -126,68 +136,107 @@ public class NounDeclension {
     }
 
 
-    private final Map<Numerus, Map<Kasus, String>> declensionMap;
+    private final String[] cells;
 
 
-    private NounDeclension(Map<Numerus, Map<Kasus, String>> declensionMap) {
-        this.declensionMap = declensionMap;
+    private NounDeclension(String[] cells) {
+        this.cells = cells;
     }
 
 
     public Optional<String> getExpression(Numerus numerus, Kasus kasus) {
         return Optional.ofNullable(
-                declensionMap
-                        .getOrDefault(
-                                numerus,
-                                Collections.emptyMap()
-                        )
-                        .get(kasus)
+                cells[getCellIndex(numerus, kasus)]
         );
     }
 
 
+    /**
+     * Allocation-free alternative to getExpression().
+     *
+     * @param numerus The numerus
+     * @param kasus   The kasus
+     * @return The expression, or null if missing
+     */
+    public String expressionOrNull(Numerus numerus, Kasus kasus) {
+        return cells[getCellIndex(numerus, kasus)];
+    }
+
+
+    public void forEachExpression(DeclensionConsumer consumer) {
+        for (int i = 0; i < CELLS_COUNT; i++) {
+            String expression = cells[i];
+
+            if (expression != null) {
+                consumer.accept(
+                        NUMERI[i / KASUS_COUNT],
+                        KASUS_VALUES[i % KASUS_COUNT],
+                        expression
+                );
+            }
+        }
+    }
+
+
+    /**
+     * Copies the cells to an array, leaving null the missing ones.
+     *
+     * @param target The target array
+     * @param offset The index of the first cell in the target
+     */
+    void copyCellsTo(String[] target, int offset) {
+        System.arraycopy(cells, 0, target, offset, CELLS_COUNT);
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof NounDeclension)) return false;
         NounDeclension that = (NounDeclension) o;
-        return Objects.equals(declensionMap, that.declensionMap);
+        return Arrays.equals(cells, that.cells);
     }
 
 
     @Override
     public int hashCode() {
-        return Objects.hash(declensionMap);
+        return Arrays.hashCode(cells);
     }
 
 
     @Override
     public String toString() {
-        List<String> numerusList =
-                Arrays
-                        .stream(Numerus.values())
-                        .map(this::getNumerusListString)
-                        .collect(Collectors.toList());
+        List<String> numerusList = new ArrayList<>();
+
+        for (Numerus numerus : NUMERI) {
+            numerusList.add(getNumerusListString(numerus));
+        }
 
         return formatDeclensionList(numerusList);
     }
 
 
     private String getNumerusListString(Numerus numerus) {
-        Map<Kasus, String> numerusMap =
-                declensionMap.get(numerus);
+        int numerusOffset =
+                getCellIndex(numerus, KASUS_VALUES[0]);
+
+        List<String> kasusList = new ArrayList<>();
+        boolean hasNumerusCells = false;
 
-        if (numerusMap == null) {
+        for (int i = numerusOffset; i < numerusOffset + KASUS_COUNT; i++) {
+            String expression = cells[i];
+
+            if (expression == null) {
+                kasusList.add(NO_KASUS_ITEM);
+            } else {
+                kasusList.add(expression);
+                hasNumerusCells = true;
+            }
+        }
+
+        if (!hasNumerusCells) {
             return NO_NUMERUS_MAP;
         } else {
-            List<String> kasusList =
-                    Arrays
-                            .stream(Kasus.values())
-                            .map(kasus ->
-                                    numerusMap.getOrDefault(kasus, NO_KASUS_ITEM)
-                            )
-                            .collect(Collectors.toList());
-
             return formatDeclensionList(kasusList);
         }
     }
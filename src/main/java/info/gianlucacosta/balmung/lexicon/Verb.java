@@ -28,6 +28,9 @@ import java.util.*;
 @Entity
 @Table(name = "Verbs")
 public class Verb extends Lemma {
+    private static final VerbForm[] FORMS = VerbForm.values();
+
+
     private String praesens;
     private String praeteritum;
     private String partizipPerfekt;
@@ -101,6 +104,45 @@ public class Verb extends Lemma {
     }
 
 
+    /**
+     * Allocation-free alternative to the Optional-returning getters.
+     *
+     * @param form The requested form
+     * @return The form's expression, or null if missing
+     */
+    public String formOrNull(VerbForm form) {
+        switch (form) {
+            case PRAESENS:
+                return praesens;
+
+            case PRAETERITUM:
+                return praeteritum;
+
+            case PARTIZIP_PERFEKT:
+                return partizipPerfekt;
+
+            case IMPERATIF_SINGULAR:
+                return imperatifSingular;
+
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Unsupported verb form: %s", form)
+                );
+        }
+    }
+
+
+    public void forEachForm(FormConsumer<VerbForm> consumer) {
+        for (VerbForm form : FORMS) {
+            String expression = formOrNull(form);
+
+            if (expression != null) {
+                consumer.accept(form, expression);
+            }
+        }
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
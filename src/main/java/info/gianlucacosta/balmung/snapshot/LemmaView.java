@@ -0,0 +1,351 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.snapshot;
+
+import info.gianlucacosta.balmung.lexicon.*;
+
+import java.util.*;
+
+import static info.gianlucacosta.balmung.snapshot.SnapshotFormat.*;
+
+/**
+ * Flyweight view of a lemma stored in a {@link LexiconSnapshot}: it only holds
+ * the position of its record, and every accessor decodes its value from the snapshot bytes.
+ * <p>
+ * Kind-specific accessors return null when the lemma has a different {@link LemmaKind}.
+ */
+public final class LemmaView {
+    private static final LemmaKind[] KINDS = LemmaKind.values();
+    private static final Genus[] GENUS_VALUES = Genus.values();
+    private static final Kasus[] KASUS_VALUES = Kasus.values();
+    private static final int NOUN_DECLENSION_CELLS_COUNT = NOUN_CELLS_COUNT / 2;
+
+    private final LexiconSnapshot snapshot;
+    private final int ordinal;
+    private final int recordOffset;
+
+
+    LemmaView(LexiconSnapshot snapshot, int ordinal, int recordOffset) {
+        this.snapshot = snapshot;
+        this.ordinal = ordinal;
+        this.recordOffset = recordOffset;
+    }
+
+
+    /**
+     * @return The index of the lemma within the original lexicon
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+
+    public LemmaKind getKind() {
+        return KINDS[snapshot.getByte(recordOffset)];
+    }
+
+
+    public String getExpression() {
+        return snapshot.getString(snapshot.getInt(recordOffset + 1));
+    }
+
+
+    public Optional<String> getPronunciation() {
+        return Optional.ofNullable(pronunciationOrNull());
+    }
+
+
+    public String pronunciationOrNull() {
+        return snapshot.getString(snapshot.getInt(recordOffset + 5));
+    }
+
+
+    public Set<String> getCategories() {
+        return readSet(CATEGORIES_LIST);
+    }
+
+
+    public List<String> getSyllables() {
+        return readList(SYLLABLES_LIST);
+    }
+
+
+    public Set<String> getSynonyms() {
+        return readSet(SYNONYMS_LIST);
+    }
+
+
+    public Set<String> getAntonyms() {
+        return readSet(ANTONYMS_LIST);
+    }
+
+
+    public Set<String> getHypernyms() {
+        return readSet(HYPERNYMS_LIST);
+    }
+
+
+    public Genus genusOrNull() {
+        if (getKind() != LemmaKind.NOUN) {
+            return null;
+        }
+
+        byte genusOrdinal =
+                snapshot.getByte(recordOffset + RECORD_FIXED_LENGTH);
+
+        return genusOrdinal != NO_GENUS ?
+                GENUS_VALUES[genusOrdinal]
+                :
+                null;
+    }
+
+
+    public String expressionOrNull(Numerus numerus, Kasus kasus) {
+        return readNounCell(false, numerus, kasus);
+    }
+
+
+    public String alternativeExpressionOrNull(Numerus numerus, Kasus kasus) {
+        return readNounCell(true, numerus, kasus);
+    }
+
+
+    public String formOrNull(VerbForm form) {
+        Objects.requireNonNull(form);
+
+        return getKind() == LemmaKind.VERB ?
+                readKindField(form.ordinal())
+                :
+                null;
+    }
+
+
+    public String formOrNull(AdjectiveForm form) {
+        Objects.requireNonNull(form);
+
+        return getKind() == LemmaKind.ADJECTIVE ?
+                readKindField(form.ordinal())
+                :
+                null;
+    }
+
+
+    /**
+     * Decodes the whole record.
+     *
+     * @return A standalone lemma of the matching class
+     */
+    public Lemma toLemma() {
+        String expression =
+                getExpression();
+
+        Set<String> categories =
+                getCategories();
+
+        List<String> syllables =
+                getSyllables();
+
+        Optional<String> pronunciationOption =
+                getPronunciation();
+
+        Set<String> synonyms =
+                getSynonyms();
+
+        Set<String> antonyms =
+                getAntonyms();
+
+        Set<String> hypernyms =
+                getHypernyms();
+
+        switch (getKind()) {
+            case NOUN:
+                return new Noun(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms,
+                        Optional.ofNullable(genusOrNull()),
+                        readDeclension(false).orElseThrow(() ->
+                                new IllegalStateException(
+                                        String.format("Noun '%s' has no declension", expression)
+                                )
+                        ),
+                        readDeclension(true)
+                );
+
+            case VERB:
+                return new Verb(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms,
+                        Optional.ofNullable(formOrNull(VerbForm.PRAESENS)),
+                        Optional.ofNullable(formOrNull(VerbForm.PRAETERITUM)),
+                        Optional.ofNullable(formOrNull(VerbForm.PARTIZIP_PERFEKT)),
+                        Optional.ofNullable(formOrNull(VerbForm.IMPERATIF_SINGULAR))
+                );
+
+            case ADJECTIVE:
+                return new Adjective(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms,
+                        Optional.ofNullable(formOrNull(AdjectiveForm.COMPARATIVE)),
+                        Optional.ofNullable(formOrNull(AdjectiveForm.SUPERLATIVE))
+                );
+
+            default:
+                return new Lemma(
+                        expression,
+                        categories,
+                        syllables,
+                        pronunciationOption,
+                        synonyms,
+                        antonyms,
+                        hypernyms
+                );
+        }
+    }
+
+
+    private String readNounCell(boolean alternative, Numerus numerus, Kasus kasus) {
+        Objects.requireNonNull(numerus);
+        Objects.requireNonNull(kasus);
+
+        if (getKind() != LemmaKind.NOUN) {
+            return null;
+        }
+
+        int cellIndex =
+                (alternative ? NOUN_DECLENSION_CELLS_COUNT : 0)
+                        + numerus.ordinal() * KASUS_VALUES.length
+                        + kasus.ordinal();
+
+        return snapshot.getString(
+                snapshot.getInt(recordOffset + RECORD_FIXED_LENGTH + 1 + 4 * cellIndex)
+        );
+    }
+
+
+    private Optional<NounDeclension> readDeclension(boolean alternative) {
+        return NounDeclension.createOption(
+                readNounCell(alternative, Numerus.SINGULAR, Kasus.NOMINATIV),
+                readNounCell(alternative, Numerus.SINGULAR, Kasus.AKKUSATIV),
+                readNounCell(alternative, Numerus.SINGULAR, Kasus.DATIV),
+                readNounCell(alternative, Numerus.SINGULAR, Kasus.GENITIV),
+
+                readNounCell(alternative, Numerus.PLURAL, Kasus.NOMINATIV),
+                readNounCell(alternative, Numerus.PLURAL, Kasus.AKKUSATIV),
+                readNounCell(alternative, Numerus.PLURAL, Kasus.DATIV),
+                readNounCell(alternative, Numerus.PLURAL, Kasus.GENITIV)
+        );
+    }
+
+
+    private String readKindField(int fieldIndex) {
+        return snapshot.getString(
+                snapshot.getInt(recordOffset + RECORD_FIXED_LENGTH + 4 * fieldIndex)
+        );
+    }
+
+
+    private int getListOffset(int listIndex) {
+        int offset =
+                recordOffset + RECORD_FIXED_LENGTH + SnapshotFormat.getKindFieldsLength(getKind());
+
+        for (int i = 0; i < listIndex; i++) {
+            offset += 4 + 4 * snapshot.getInt(offset);
+        }
+
+        return offset;
+    }
+
+
+    private List<String> readList(int listIndex) {
+        int offset =
+                getListOffset(listIndex);
+
+        int count =
+                snapshot.getInt(offset);
+
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> result =
+                new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            result.add(snapshot.getString(snapshot.getInt(offset + 4 + 4 * i)));
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+
+    private Set<String> readSet(int listIndex) {
+        List<String> items =
+                readList(listIndex);
+
+        return items.isEmpty() ?
+                Collections.emptySet()
+                :
+                Collections.unmodifiableSet(new LinkedHashSet<>(items));
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LemmaView other = (LemmaView) o;
+
+        return snapshot == other.snapshot && ordinal == other.ordinal;
+    }
+
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(snapshot) * 31 + ordinal;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s #%d: %s",
+                getKind(),
+                ordinal,
+                getExpression()
+        );
+    }
+}
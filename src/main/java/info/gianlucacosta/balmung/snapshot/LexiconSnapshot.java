@@ -0,0 +1,409 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.snapshot;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Lexicon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static info.gianlucacosta.balmung.snapshot.SnapshotFormat.*;
+
+/**
+ * Read-only lexicon backed by a snapshot created via {@link LexiconSnapshotWriter}.
+ * <p>
+ * Opening a snapshot file maps it into memory - so that its pages are loaded on demand
+ * and shared, via the OS page cache, by every process reading the same file;
+ * lemmas are then exposed as lightweight {@link LemmaView} instances, decoding
+ * each field from the mapped bytes only when requested.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class LexiconSnapshot {
+    public static LexiconSnapshot open(Path path) throws IOException {
+        return open(path, true);
+    }
+
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path           The snapshot file
+     * @param verifyChecksum If true, the whole file is read once to verify its checksum;
+     *                       otherwise, only the header is validated
+     * @return The snapshot
+     * @throws IOException If the file cannot be mapped or is not a valid snapshot
+     */
+    public static LexiconSnapshot open(Path path, boolean verifyChecksum) throws IOException {
+        Objects.requireNonNull(path);
+
+        ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize =
+                    channel.size();
+
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException(
+                        String.format(
+                                "Snapshot '%s' is %d bytes long, exceeding the maximum of %d",
+                                path,
+                                fileSize,
+                                Integer.MAX_VALUE
+                        )
+                );
+            }
+
+            buffer =
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
+
+        try {
+            return new LexiconSnapshot(buffer, verifyChecksum);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException(
+                    String.format("Invalid snapshot '%s': %s", path, ex.getMessage()),
+                    ex
+            );
+        }
+    }
+
+
+    /**
+     * Reads a snapshot from memory - for example, as returned by {@link LexiconSnapshotWriter#encode(Lexicon)}.
+     *
+     * @param snapshot The buffer, whose content - from position 0 to its capacity - must be a snapshot.
+     *                 It must not be modified afterwards.
+     * @return The snapshot
+     * @throws IllegalArgumentException If the buffer is not a valid snapshot
+     */
+    public static LexiconSnapshot wrap(ByteBuffer snapshot) {
+        Objects.requireNonNull(snapshot);
+
+        return new LexiconSnapshot(snapshot, true);
+    }
+
+
+    private final ByteBuffer buffer;
+    private final int lemmaCount;
+    private final int recordsOffset;
+    private final int stringsOffset;
+
+
+    private LexiconSnapshot(ByteBuffer source, boolean verifyChecksum) {
+        ByteBuffer buffer =
+                source
+                        .asReadOnlyBuffer()
+                        .order(BYTE_ORDER);
+
+        buffer.clear();
+
+        int capacity =
+                buffer.capacity();
+
+        if (capacity < HEADER_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format("%d bytes are too few for the header", capacity)
+            );
+        }
+
+        int magic =
+                buffer.getInt(MAGIC_OFFSET);
+
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException(
+                    String.format("Unexpected magic number: 0x%08X", magic)
+            );
+        }
+
+        int version =
+                buffer.getInt(VERSION_OFFSET);
+
+        if (version != VERSION) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported version: %d (expected: %d)", version, VERSION)
+            );
+        }
+
+        int fileLength =
+                buffer.getInt(FILE_LENGTH_OFFSET);
+
+        if (fileLength != capacity) {
+            throw new IllegalArgumentException(
+                    String.format("Declared length %d, but %d bytes are available", fileLength, capacity)
+            );
+        }
+
+        lemmaCount =
+                buffer.getInt(LEMMA_COUNT_OFFSET);
+
+        recordsOffset =
+                buffer.getInt(RECORDS_OFFSET_OFFSET);
+
+        stringsOffset =
+                buffer.getInt(STRINGS_OFFSET_OFFSET);
+
+        if (lemmaCount < 0
+                || recordsOffset != HEADER_LENGTH + 8L * lemmaCount
+                || stringsOffset < recordsOffset
+                || stringsOffset > capacity) {
+            throw new IllegalArgumentException("Inconsistent section offsets");
+        }
+
+        if (verifyChecksum) {
+            long expectedChecksum =
+                    buffer.getLong(CHECKSUM_OFFSET);
+
+            long actualChecksum =
+                    LexiconSnapshotWriter.computeChecksum(buffer);
+
+            if (actualChecksum != expectedChecksum) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Checksum mismatch: expected 0x%08X, found 0x%08X",
+                                expectedChecksum,
+                                actualChecksum
+                        )
+                );
+            }
+        }
+
+        this.buffer = buffer;
+    }
+
+
+    public int size() {
+        return lemmaCount;
+    }
+
+
+    public LemmaView getLemma(int ordinal) {
+        if (ordinal < 0 || ordinal >= lemmaCount) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Lemma ordinal %d is not in [0, %d)", ordinal, lemmaCount)
+            );
+        }
+
+        return new LemmaView(
+                this,
+                ordinal,
+                recordsOffset + buffer.getInt(HEADER_LENGTH + 4 * ordinal)
+        );
+    }
+
+
+    /**
+     * @return A lazy list of views, in the order of the original lexicon
+     */
+    public List<LemmaView> getLemmas() {
+        return new AbstractList<LemmaView>() {
+            @Override
+            public LemmaView get(int index) {
+                return getLemma(index);
+            }
+
+            @Override
+            public int size() {
+                return lemmaCount;
+            }
+        };
+    }
+
+
+    /**
+     * Finds the lemmas having the given expression, via binary search
+     * on the sorted index stored in the snapshot.
+     *
+     * @param expression The expression
+     * @return The matching lemmas, in the order of the original lexicon
+     */
+    public List<LemmaView> getLemmasByExpression(String expression) {
+        Objects.requireNonNull(expression);
+
+        byte[] expressionBytes =
+                expression.getBytes(StandardCharsets.UTF_8);
+
+        int sortedIndexOffset =
+                HEADER_LENGTH + 4 * lemmaCount;
+
+        int low = 0;
+        int high = lemmaCount;
+
+        while (low < high) {
+            int middle =
+                    (low + high) >>> 1;
+
+            int comparison =
+                    compareExpression(buffer.getInt(sortedIndexOffset + 4 * middle), expressionBytes);
+
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        List<LemmaView> result =
+                new ArrayList<>();
+
+        for (int i = low; i < lemmaCount; i++) {
+            int ordinal =
+                    buffer.getInt(sortedIndexOffset + 4 * i);
+
+            if (compareExpression(ordinal, expressionBytes) != 0) {
+                break;
+            }
+
+            result.add(getLemma(ordinal));
+        }
+
+        result.sort(Comparator.comparingInt(LemmaView::getOrdinal));
+
+        return result;
+    }
+
+
+    /**
+     * Decodes every lemma in the snapshot.
+     *
+     * @return A fully materialized lexicon
+     */
+    public Lexicon toLexicon() {
+        List<Lemma> lemmas =
+                new ArrayList<>(lemmaCount);
+
+        for (int ordinal = 0; ordinal < lemmaCount; ordinal++) {
+            lemmas.add(getLemma(ordinal).toLemma());
+        }
+
+        return new Lexicon(lemmas);
+    }
+
+
+    public int getByteSize() {
+        return buffer.capacity();
+    }
+
+
+    byte getByte(int offset) {
+        return buffer.get(offset);
+    }
+
+
+    int getInt(int offset) {
+        return buffer.getInt(offset);
+    }
+
+
+    String getString(int reference) {
+        if (reference == NULL_REFERENCE) {
+            return null;
+        }
+
+        long stringHeader =
+                readStringHeader(reference);
+
+        int length =
+                (int) (stringHeader >>> 32);
+
+        int offset =
+                (int) stringHeader;
+
+        byte[] bytes =
+                new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    private int compareExpression(int ordinal, byte[] expressionBytes) {
+        int recordOffset =
+                recordsOffset + buffer.getInt(HEADER_LENGTH + 4 * ordinal);
+
+        long stringHeader =
+                readStringHeader(buffer.getInt(recordOffset + 1));
+
+        int length =
+                (int) (stringHeader >>> 32);
+
+        int offset =
+                (int) stringHeader;
+
+        int commonLength =
+                Math.min(length, expressionBytes.length);
+
+        for (int i = 0; i < commonLength; i++) {
+            int difference =
+                    (buffer.get(offset + i) & 0xFF) - (expressionBytes[i] & 0xFF);
+
+            if (difference != 0) {
+                return difference;
+            }
+        }
+
+        return length - expressionBytes.length;
+    }
+
+
+    /**
+     * Decodes the varint length prefix of a string.
+     *
+     * @param reference The string reference
+     * @return The length in the high 32 bits, the offset of the first UTF-8 byte in the low 32 bits
+     */
+    private long readStringHeader(int reference) {
+        int offset =
+                stringsOffset + reference;
+
+        int length = 0;
+        int shift = 0;
+
+        byte currentByte;
+
+        do {
+            currentByte = buffer.get(offset++);
+            length |= (currentByte & 0x7F) << shift;
+            shift += 7;
+        } while (currentByte < 0);
+
+        return ((long) length << 32) | offset;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format(
+                "LexiconSnapshot{lemmas=%d, bytes=%d}",
+                lemmaCount,
+                buffer.capacity()
+        );
+    }
+}
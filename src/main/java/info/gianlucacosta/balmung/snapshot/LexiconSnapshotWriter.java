@@ -0,0 +1,493 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.snapshot;
+
+import info.gianlucacosta.balmung.lexicon.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.*;
+import java.util.zip.CRC32;
+
+import static info.gianlucacosta.balmung.snapshot.SnapshotFormat.*;
+
+/**
+ * Dumps a lexicon to the binary snapshot format read by {@link LexiconSnapshot}.
+ * <p>
+ * The file is first written next to the target path, then atomically moved
+ * in place - so that readers never map a partially-written snapshot. On POSIX
+ * file systems, the snapshot keeps the permissions of the file it replaces or,
+ * for new files, is made readable by everyone - as it is meant to be shared.
+ */
+public final class LexiconSnapshotWriter {
+    private static final Numerus[] NUMERI = Numerus.values();
+    private static final Kasus[] KASUS_VALUES = Kasus.values();
+    private static final VerbForm[] VERB_FORMS = VerbForm.values();
+    private static final AdjectiveForm[] ADJECTIVE_FORMS = AdjectiveForm.values();
+
+    private static final Set<PosixFilePermission> NEW_SNAPSHOT_PERMISSIONS =
+            PosixFilePermissions.fromString("rw-r--r--");
+
+
+    public static void write(Lexicon lexicon, Path path) throws IOException {
+        Objects.requireNonNull(lexicon);
+        Objects.requireNonNull(path);
+
+        ByteBuffer snapshot =
+                encode(lexicon);
+
+        Path absolutePath =
+                path.toAbsolutePath();
+
+        Path temporaryPath =
+                Files.createTempFile(
+                        absolutePath.getParent(),
+                        absolutePath.getFileName().toString(),
+                        ".tmp"
+                );
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)) {
+                while (snapshot.hasRemaining()) {
+                    channel.write(snapshot);
+                }
+
+                channel.force(true);
+            }
+
+            setPublishedPermissions(temporaryPath, absolutePath);
+
+            try {
+                Files.move(
+                        temporaryPath,
+                        absolutePath,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(
+                        temporaryPath,
+                        absolutePath,
+                        StandardCopyOption.REPLACE_EXISTING
+                );
+            }
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+
+    /**
+     * Temporary files are created readable by their owner only: the published snapshot
+     * receives the permissions of the replaced file or, if missing, rw-r--r--.
+     */
+    private static void setPublishedPermissions(Path temporaryPath, Path targetPath) throws IOException {
+        PosixFileAttributeView attributeView =
+                Files.getFileAttributeView(temporaryPath, PosixFileAttributeView.class);
+
+        if (attributeView == null) {
+            return;
+        }
+
+        Set<PosixFilePermission> permissions =
+                Files.exists(targetPath) ?
+                        Files.getPosixFilePermissions(targetPath)
+                        :
+                        NEW_SNAPSHOT_PERMISSIONS;
+
+        attributeView.setPermissions(permissions);
+    }
+
+
+    /**
+     * Encodes the lexicon into an in-memory snapshot.
+     *
+     * @param lexicon The lexicon
+     * @return A buffer containing the whole snapshot, from position 0 to its limit
+     */
+    public static ByteBuffer encode(Lexicon lexicon) {
+        Objects.requireNonNull(lexicon);
+
+        List<Lemma> lemmas =
+                lexicon.getLemmas();
+
+        int lemmaCount =
+                lemmas.size();
+
+        StringPool stringPool =
+                new StringPool();
+
+        ByteSink records =
+                new ByteSink(lemmaCount * 64);
+
+        int[] recordOffsets =
+                new int[lemmaCount];
+
+        for (int ordinal = 0; ordinal < lemmaCount; ordinal++) {
+            recordOffsets[ordinal] = records.size();
+            writeRecord(records, stringPool, lemmas.get(ordinal));
+        }
+
+        int[] sortedOrdinals =
+                sortOrdinalsByExpression(lemmas, stringPool);
+
+        int recordsOffset =
+                HEADER_LENGTH + 8 * lemmaCount;
+
+        int stringsOffset =
+                recordsOffset + records.size();
+
+        long fileLength =
+                (long) stringsOffset + stringPool.getBytes().size();
+
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The snapshot would be %d bytes long, exceeding the maximum of %d",
+                            fileLength,
+                            Integer.MAX_VALUE
+                    )
+            );
+        }
+
+        ByteBuffer buffer =
+                ByteBuffer
+                        .allocate((int) fileLength)
+                        .order(BYTE_ORDER);
+
+        buffer.position(HEADER_LENGTH);
+
+        for (int recordOffset : recordOffsets) {
+            buffer.putInt(recordOffset);
+        }
+
+        for (int ordinal : sortedOrdinals) {
+            buffer.putInt(ordinal);
+        }
+
+        records.writeTo(buffer);
+        stringPool.getBytes().writeTo(buffer);
+
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(LEMMA_COUNT_OFFSET, lemmaCount);
+        buffer.putInt(RECORDS_OFFSET_OFFSET, recordsOffset);
+        buffer.putInt(STRINGS_OFFSET_OFFSET, stringsOffset);
+        buffer.putInt(FILE_LENGTH_OFFSET, (int) fileLength);
+        buffer.putLong(CHECKSUM_OFFSET, computeChecksum(buffer));
+
+        buffer.rewind();
+
+        return buffer;
+    }
+
+
+    static long computeChecksum(ByteBuffer snapshot) {
+        ByteBuffer payload =
+                snapshot.duplicate();
+
+        payload.position(HEADER_LENGTH);
+        payload.limit(snapshot.capacity());
+
+        CRC32 crc =
+                new CRC32();
+
+        crc.update(payload);
+
+        return crc.getValue();
+    }
+
+
+    private static void writeRecord(ByteSink records, StringPool stringPool, Lemma lemma) {
+        LemmaKind kind =
+                getKind(lemma);
+
+        records.writeByte(kind.ordinal());
+        records.writeInt(stringPool.getReference(lemma.getExpression()));
+        records.writeInt(stringPool.getReference(lemma.pronunciationOrNull()));
+
+        switch (kind) {
+            case NOUN: {
+                Noun noun = (Noun) lemma;
+
+                Genus genus =
+                        noun.genusOrNull();
+
+                records.writeByte(
+                        genus != null ?
+                                genus.ordinal()
+                                :
+                                NO_GENUS
+                );
+
+                for (int alternative = 0; alternative < 2; alternative++) {
+                    for (Numerus numerus : NUMERI) {
+                        for (Kasus kasus : KASUS_VALUES) {
+                            String expression =
+                                    alternative == 0 ?
+                                            noun.expressionOrNull(numerus, kasus)
+                                            :
+                                            noun.alternativeExpressionOrNull(numerus, kasus);
+
+                            records.writeInt(stringPool.getReference(expression));
+                        }
+                    }
+                }
+                break;
+            }
+
+            case VERB: {
+                Verb verb = (Verb) lemma;
+
+                for (VerbForm form : VERB_FORMS) {
+                    records.writeInt(stringPool.getReference(verb.formOrNull(form)));
+                }
+                break;
+            }
+
+            case ADJECTIVE: {
+                Adjective adjective = (Adjective) lemma;
+
+                for (AdjectiveForm form : ADJECTIVE_FORMS) {
+                    records.writeInt(stringPool.getReference(adjective.formOrNull(form)));
+                }
+                break;
+            }
+
+            default:
+                break;
+        }
+
+        List<String> sortedCategories =
+                new ArrayList<>(lemma.getCategories());
+        Collections.sort(sortedCategories);
+
+        writeList(records, stringPool, sortedCategories);
+        writeList(records, stringPool, lemma.getSyllables());
+        writeList(records, stringPool, lemma.getSynonyms());
+        writeList(records, stringPool, lemma.getAntonyms());
+        writeList(records, stringPool, lemma.getHypernyms());
+    }
+
+
+    private static LemmaKind getKind(Lemma lemma) {
+        if (lemma instanceof Noun) {
+            return LemmaKind.NOUN;
+        }
+
+        if (lemma instanceof Verb) {
+            return LemmaKind.VERB;
+        }
+
+        if (lemma instanceof Adjective) {
+            return LemmaKind.ADJECTIVE;
+        }
+
+        return LemmaKind.LEMMA;
+    }
+
+
+    private static void writeList(ByteSink records, StringPool stringPool, Collection<String> items) {
+        records.writeInt(items.size());
+
+        for (String item : items) {
+            records.writeInt(stringPool.getReference(item));
+        }
+    }
+
+
+    private static int[] sortOrdinalsByExpression(List<Lemma> lemmas, StringPool stringPool) {
+        byte[][] expressionBytes =
+                new byte[lemmas.size()][];
+
+        Integer[] ordinals =
+                new Integer[lemmas.size()];
+
+        for (int ordinal = 0; ordinal < ordinals.length; ordinal++) {
+            ordinals[ordinal] = ordinal;
+            expressionBytes[ordinal] = stringPool.getEncoded(lemmas.get(ordinal).getExpression());
+        }
+
+        Arrays.sort(
+                ordinals,
+                (left, right) -> compareUnsigned(expressionBytes[left], expressionBytes[right])
+        );
+
+        int[] result =
+                new int[ordinals.length];
+
+        for (int i = 0; i < ordinals.length; i++) {
+            result[i] = ordinals[i];
+        }
+
+        return result;
+    }
+
+
+    static int compareUnsigned(byte[] left, byte[] right) {
+        int commonLength =
+                Math.min(left.length, right.length);
+
+        for (int i = 0; i < commonLength; i++) {
+            int difference =
+                    (left[i] & 0xFF) - (right[i] & 0xFF);
+
+            if (difference != 0) {
+                return difference;
+            }
+        }
+
+        return left.length - right.length;
+    }
+
+
+    private LexiconSnapshotWriter() {
+    }
+
+
+    private static final class StringPool {
+        private final Map<String, Integer> references =
+                new HashMap<>();
+
+        private final Map<String, byte[]> encodings =
+                new HashMap<>();
+
+        private final ByteSink bytes =
+                new ByteSink(4096);
+
+
+        int getReference(String value) {
+            if (value == null) {
+                return NULL_REFERENCE;
+            }
+
+            Integer existingReference =
+                    references.get(value);
+
+            if (existingReference != null) {
+                return existingReference;
+            }
+
+            byte[] encoded =
+                    getEncoded(value);
+
+            int reference =
+                    bytes.size();
+
+            bytes.writeVarInt(encoded.length);
+            bytes.writeBytes(encoded);
+
+            references.put(value, reference);
+
+            return reference;
+        }
+
+
+        byte[] getEncoded(String value) {
+            return encodings.computeIfAbsent(
+                    value,
+                    key -> key.getBytes(StandardCharsets.UTF_8)
+            );
+        }
+
+
+        ByteSink getBytes() {
+            return bytes;
+        }
+    }
+
+
+    private static final class ByteSink {
+        private byte[] bytes;
+        private int size;
+
+
+        ByteSink(int initialCapacity) {
+            bytes = new byte[Math.max(initialCapacity, 16)];
+        }
+
+
+        int size() {
+            return size;
+        }
+
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+
+            bytes[size++] = (byte) value;
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 24);
+        }
+
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+
+            writeByte(value);
+        }
+
+
+        void writeBytes(byte[] source) {
+            ensureCapacity(source.length);
+            System.arraycopy(source, 0, bytes, size, source.length);
+            size += source.length;
+        }
+
+
+        void writeTo(ByteBuffer target) {
+            target.put(bytes, 0, size);
+        }
+
+
+        private void ensureCapacity(int additionalBytes) {
+            int requiredCapacity =
+                    size + additionalBytes;
+
+            if (requiredCapacity > bytes.length) {
+                bytes = Arrays.copyOf(
+                        bytes,
+                        Math.max(requiredCapacity, bytes.length * 2)
+                );
+            }
+        }
+    }
+}
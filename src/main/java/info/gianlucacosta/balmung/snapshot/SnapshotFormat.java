@@ -0,0 +1,84 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.snapshot;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of lexicon snapshot files - all integers being little-endian:
+ * <ul>
+ * <li>header: magic number, format version, lemma count, offsets of the records and of
+ * the strings, total file length - as ints - and the CRC32 of everything following the header,
+ * as a long</li>
+ * <li>the offset of each lemma's record, as an int, in lexicon order</li>
+ * <li>the lemma ordinals sorted by the UTF-8 bytes of their expression, as ints</li>
+ * <li>the records: the kind byte, the expression and pronunciation string references,
+ * the kind-specific fields - for nouns, the genus byte and the 16 declension cells - and
+ * the counted lists of categories, syllables, synonyms, antonyms and hypernyms</li>
+ * <li>the strings, each as a varint length followed by its UTF-8 bytes, referenced by
+ * their offset within the strings section - or by -1 for null</li>
+ * </ul>
+ */
+interface SnapshotFormat {
+    int MAGIC = 0x534D4C42;
+    int VERSION = 1;
+
+    ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    int MAGIC_OFFSET = 0;
+    int VERSION_OFFSET = 4;
+    int LEMMA_COUNT_OFFSET = 8;
+    int RECORDS_OFFSET_OFFSET = 12;
+    int STRINGS_OFFSET_OFFSET = 16;
+    int FILE_LENGTH_OFFSET = 20;
+    int CHECKSUM_OFFSET = 24;
+    int HEADER_LENGTH = 32;
+
+    int NULL_REFERENCE = -1;
+    int NO_GENUS = -1;
+
+    int RECORD_FIXED_LENGTH = 1 + 4 + 4;
+    int NOUN_CELLS_COUNT = 16;
+
+    int LISTS_COUNT = 5;
+    int CATEGORIES_LIST = 0;
+    int SYLLABLES_LIST = 1;
+    int SYNONYMS_LIST = 2;
+    int ANTONYMS_LIST = 3;
+    int HYPERNYMS_LIST = 4;
+
+
+    static int getKindFieldsLength(LemmaKind kind) {
+        switch (kind) {
+            case NOUN:
+                return 1 + 4 * NOUN_CELLS_COUNT;
+
+            case VERB:
+                return 4 * 4;
+
+            case ADJECTIVE:
+                return 4 * 2;
+
+            default:
+                return 0;
+        }
+    }
+}
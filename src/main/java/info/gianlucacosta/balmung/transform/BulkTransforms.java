@@ -0,0 +1,176 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Applies a transform to many items - sequentially for small inputs, via fork/join for large ones.
+ */
+class BulkTransforms {
+    /**
+     * Minimum number of items justifying parallel application; it is also the minimum chunk size.
+     */
+    static final int PARALLEL_THRESHOLD = 8192;
+
+
+    static List<TransformFailure> applyAll(Transform transform, String[] origins, String[] results) {
+        Objects.requireNonNull(origins);
+        Objects.requireNonNull(results);
+
+        if (results.length < origins.length) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The results array must have at least %d items, but it has %d",
+                            origins.length,
+                            results.length
+                    )
+            );
+        }
+
+        if (origins.length < PARALLEL_THRESHOLD) {
+            List<TransformFailure> failures = new ArrayList<>();
+
+            applyRange(transform, origins, results, 0, origins.length, failures);
+
+            return failures;
+        }
+
+        return ForkJoinPool.commonPool().invoke(
+                new ApplyRangeTask(transform, origins, results, 0, origins.length)
+        );
+    }
+
+
+    static Stream<TransformOutcome> applyAll(Transform transform, Stream<String> origins) {
+        Objects.requireNonNull(origins);
+
+        Spliterator<String> spliterator =
+                origins.spliterator();
+
+        boolean parallel =
+                origins.isParallel() || spliterator.getExactSizeIfKnown() >= PARALLEL_THRESHOLD;
+
+        return StreamSupport
+                .stream(spliterator, parallel)
+                .onClose(origins::close)
+                .map(origin -> TransformOutcome.of(transform, origin));
+    }
+
+
+    private static void applyRange(
+            Transform transform,
+            String[] origins,
+            String[] results,
+            int fromIndex,
+            int toIndex,
+            List<TransformFailure> failures
+    ) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            String origin = origins[i];
+
+            try {
+                results[i] = transform.apply(origin);
+            } catch (RuntimeException ex) {
+                results[i] = null;
+
+                failures.add(
+                        new TransformFailure(i, origin, getFailureReason(ex))
+                );
+            }
+        }
+    }
+
+
+    static String getFailureReason(RuntimeException ex) {
+        String message = ex.getMessage();
+
+        return (message != null) ?
+                message
+                :
+                ex.getClass().getName();
+    }
+
+
+    private static class ApplyRangeTask extends RecursiveTask<List<TransformFailure>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Transform transform;
+        private final String[] origins;
+        private final String[] results;
+        private final int fromIndex;
+        private final int toIndex;
+
+
+        ApplyRangeTask(Transform transform, String[] origins, String[] results, int fromIndex, int toIndex) {
+            this.transform = transform;
+            this.origins = origins;
+            this.results = results;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+
+        @Override
+        protected List<TransformFailure> compute() {
+            int length = toIndex - fromIndex;
+
+            if (length < 2 * PARALLEL_THRESHOLD) {
+                List<TransformFailure> failures = new ArrayList<>();
+
+                applyRange(transform, origins, results, fromIndex, toIndex, failures);
+
+                return failures;
+            }
+
+            int middleIndex = fromIndex + length / 2;
+
+            ApplyRangeTask leftTask =
+                    new ApplyRangeTask(transform, origins, results, fromIndex, middleIndex);
+
+            ApplyRangeTask rightTask =
+                    new ApplyRangeTask(transform, origins, results, middleIndex, toIndex);
+
+            leftTask.fork();
+
+            List<TransformFailure> failures =
+                    rightTask.compute();
+
+            List<TransformFailure> leftFailures =
+                    leftTask.join();
+
+            if (leftFailures.isEmpty()) {
+                return failures;
+            }
+
+            leftFailures.addAll(failures);
+
+            return leftFailures;
+        }
+    }
+}
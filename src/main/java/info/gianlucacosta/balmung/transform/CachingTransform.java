@@ -0,0 +1,72 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import info.gianlucacosta.balmung.transform.util.CacheStatistics;
+import info.gianlucacosta.balmung.transform.util.SegmentedLruCache;
+
+import java.util.Objects;
+
+/**
+ * Decorator memoizing the results of a transform in a bounded, concurrent segmented LRU cache.
+ * <p>
+ * Failures are never cached, so they are thrown again at every request.
+ */
+public class CachingTransform implements Transform {
+    private final Transform transform;
+    private final SegmentedLruCache<String, String> cache;
+
+
+    public CachingTransform(Transform transform, long maxSize) {
+        this(transform, new SegmentedLruCache<>(maxSize));
+    }
+
+
+    public CachingTransform(Transform transform, SegmentedLruCache<String, String> cache) {
+        Objects.requireNonNull(transform);
+        Objects.requireNonNull(cache);
+
+        this.transform = transform;
+        this.cache = cache;
+    }
+
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+
+    @Override
+    public String apply(String origin) {
+        return cache.get(origin, transform);
+    }
+
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+
+    @Override
+    public String toString() {
+        return "CachingTransform{" + transform + "}";
+    }
+}
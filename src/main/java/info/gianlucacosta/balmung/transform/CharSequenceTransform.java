@@ -0,0 +1,65 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Transform working directly on char sequences - such as CharBuffer - and on UTF-8 byte buffers,
+ * without creating intermediate strings.
+ */
+public interface CharSequenceTransform {
+    boolean isApplicableTo(CharSequence origin);
+
+
+    /**
+     * Appends the result of the transform to the given target.
+     *
+     * @param origin The char sequence to transform
+     * @param target The target
+     * @throws IOException If the target cannot be written
+     */
+    void applyTo(CharSequence origin, Appendable target) throws IOException;
+
+
+    /**
+     * Tells whether the transform can be applied to the UTF-8 encoded token in the given byte range.
+     *
+     * @param source The source buffer - whose position and limit are not modified
+     * @param offset The absolute index of the token's first byte
+     * @param length The length of the token, in bytes
+     * @return true if the transform can be applied
+     */
+    boolean isApplicableToUtf8(ByteBuffer source, int offset, int length);
+
+
+    /**
+     * Transforms the UTF-8 encoded token in the given byte range, without decoding it.
+     *
+     * @param source The source buffer - whose position and limit are not modified
+     * @param offset The absolute index of the token's first byte
+     * @param length The length of the token, in bytes
+     * @param target The buffer receiving the UTF-8 result, starting from its current position
+     * @return The number of bytes written to the target
+     */
+    int applyToUtf8(ByteBuffer source, int offset, int length, ByteBuffer target);
+}
@@ -0,0 +1,72 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import info.gianlucacosta.balmung.transform.util.NormalizationStatistics;
+import info.gianlucacosta.balmung.transform.util.WordNormalizer;
+
+import java.util.Objects;
+
+/**
+ * Decorator converting its input to Unicode NFC before applying the wrapped transform.
+ */
+public class NormalizingTransform implements Transform {
+    private final Transform transform;
+    private final WordNormalizer normalizer;
+
+
+    public NormalizingTransform(Transform transform) {
+        this(transform, new WordNormalizer());
+    }
+
+
+    public NormalizingTransform(Transform transform, WordNormalizer normalizer) {
+        Objects.requireNonNull(transform);
+        Objects.requireNonNull(normalizer);
+
+        this.transform = transform;
+        this.normalizer = normalizer;
+    }
+
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+
+    @Override
+    public String apply(String origin) {
+        return transform.apply(
+                normalizer.normalize(origin)
+        );
+    }
+
+
+    public NormalizationStatistics getStatistics() {
+        return normalizer.getStatistics();
+    }
+
+
+    @Override
+    public String toString() {
+        return "NormalizingTransform{" + transform + "}";
+    }
+}
@@ -20,8 +20,85 @@
 
 package info.gianlucacosta.balmung.transform;
 
+import info.gianlucacosta.balmung.transform.util.WordBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 @FunctionalInterface
 public interface Transform extends Function<String, String> {
+    /**
+     * Creates a transform equivalent to applying the given transforms in sequence.
+     * <p>
+     * Consecutive transforms are merged whenever possible, so that the result might
+     * even be a single transform; the remaining steps share one mutable buffer.
+     *
+     * @param transforms The transforms, in application order
+     * @return The composed transform
+     */
+    static Transform compose(Transform... transforms) {
+        return TransformPipeline.compose(
+                Arrays.asList(transforms)
+        );
+    }
+
+
+    /**
+     * Applies the transform to the content of the given buffer, replacing it with the result.
+     * <p>
+     * The default implementation passes through an intermediate string.
+     *
+     * @param buffer The buffer
+     */
+    default void applyTo(WordBuffer buffer) {
+        String result =
+                apply(buffer.toString());
+
+        buffer.set(result);
+    }
+
+
+    /**
+     * Tries to create a single transform equivalent to applying this transform and then the given one.
+     * <p>
+     * The default implementation never merges.
+     *
+     * @param next The transform to apply after this one
+     * @return The merged transform, if available
+     */
+    default Optional<Transform> mergeWith(Transform next) {
+        return Optional.empty();
+    }
+
+
+    /**
+     * Applies the transform to every item of an array.
+     * <p>
+     * Large arrays are split into chunks processed in parallel by the common fork/join pool.
+     * A failing item does not stop the others: its result is set to null and its failure is reported.
+     *
+     * @param origins The strings to transform
+     * @param results The target array - at least as long as origins; the i-th result matches the i-th origin
+     * @return The failures, sorted by index
+     */
+    default List<TransformFailure> applyAll(String[] origins, String[] results) {
+        return BulkTransforms.applyAll(this, origins, results);
+    }
+
+
+    /**
+     * Lazily applies the transform to every item of a stream.
+     * <p>
+     * The resulting stream is parallel if the source is - or if its exact size is large enough.
+     * A failing item does not stop the others, as its failure is described by its outcome.
+     *
+     * @param origins The strings to transform
+     * @return The outcomes, in the encounter order of the origins
+     */
+    default Stream<TransformOutcome> applyAll(Stream<String> origins) {
+        return BulkTransforms.applyAll(this, origins);
+    }
 }
@@ -0,0 +1,75 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import java.util.Objects;
+
+/**
+ * Failure of a transform on one item of a bulk application.
+ */
+public class TransformFailure {
+    private final int index;
+    private final String origin;
+    private final String reason;
+
+
+    public TransformFailure(int index, String origin, String reason) {
+        Objects.requireNonNull(reason);
+
+        this.index = index;
+        this.origin = origin;
+        this.reason = reason;
+    }
+
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransformFailure)) return false;
+        TransformFailure that = (TransformFailure) o;
+        return index == that.index &&
+                Objects.equals(origin, that.origin) &&
+                Objects.equals(reason, that.reason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, origin, reason);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d ('%s'): %s", index, origin, reason);
+    }
+}
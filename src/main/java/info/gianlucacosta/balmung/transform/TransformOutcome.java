@@ -0,0 +1,98 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Result - or failure reason - of a transform applied to one item of a stream.
+ */
+public class TransformOutcome {
+    static TransformOutcome of(Transform transform, String origin) {
+        try {
+            return new TransformOutcome(
+                    origin,
+                    transform.apply(origin),
+                    null
+            );
+        } catch (RuntimeException ex) {
+            return new TransformOutcome(
+                    origin,
+                    null,
+                    BulkTransforms.getFailureReason(ex)
+            );
+        }
+    }
+
+
+    private final String origin;
+    private final String result;
+    private final String failureReason;
+
+
+    private TransformOutcome(String origin, String result, String failureReason) {
+        this.origin = origin;
+        this.result = result;
+        this.failureReason = failureReason;
+    }
+
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Optional<String> getResult() {
+        return Optional.ofNullable(result);
+    }
+
+    public Optional<String> getFailureReason() {
+        return Optional.ofNullable(failureReason);
+    }
+
+    public boolean isSuccessful() {
+        return failureReason == null;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransformOutcome)) return false;
+        TransformOutcome that = (TransformOutcome) o;
+        return Objects.equals(origin, that.origin) &&
+                Objects.equals(result, that.result) &&
+                Objects.equals(failureReason, that.failureReason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(origin, result, failureReason);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccessful() ?
+                String.format("'%s' => '%s'", origin, result)
+                :
+                String.format("'%s': %s", origin, failureReason);
+    }
+}
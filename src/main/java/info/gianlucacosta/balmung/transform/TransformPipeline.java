@@ -0,0 +1,128 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import info.gianlucacosta.balmung.transform.util.WordBuffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Sequence of transforms applied to one shared buffer, without intermediate strings.
+ */
+public class TransformPipeline implements Transform {
+    /**
+     * Composes the given transforms, merging consecutive ones whenever possible.
+     *
+     * @param transforms The transforms, in application order
+     * @return The only remaining transform, if all of them could be merged; a pipeline otherwise
+     */
+    public static Transform compose(List<? extends Transform> transforms) {
+        Objects.requireNonNull(transforms);
+
+        List<Transform> steps = new ArrayList<>();
+
+        transforms.forEach(transform -> {
+            Objects.requireNonNull(transform);
+
+            if (transform instanceof TransformPipeline) {
+                ((TransformPipeline) transform).steps.forEach(step -> addStep(steps, step));
+            } else {
+                addStep(steps, transform);
+            }
+        });
+
+        if (steps.size() == 1) {
+            return steps.get(0);
+        }
+
+        return new TransformPipeline(steps);
+    }
+
+
+    private static void addStep(List<Transform> steps, Transform step) {
+        if (!steps.isEmpty()) {
+            int lastIndex = steps.size() - 1;
+
+            Optional<Transform> mergedStepOption =
+                    steps.get(lastIndex).mergeWith(step);
+
+            if (mergedStepOption.isPresent()) {
+                steps.set(lastIndex, mergedStepOption.get());
+                return;
+            }
+        }
+
+        steps.add(step);
+    }
+
+
+    private final List<Transform> steps;
+
+
+    private TransformPipeline(List<Transform> steps) {
+        this.steps = Collections.unmodifiableList(steps);
+    }
+
+
+    public List<Transform> getSteps() {
+        return steps;
+    }
+
+
+    @Override
+    public String apply(String origin) {
+        WordBuffer buffer =
+                new WordBuffer(origin);
+
+        applyTo(buffer);
+
+        return buffer.toString();
+    }
+
+
+    @Override
+    public void applyTo(WordBuffer buffer) {
+        steps.forEach(step -> step.applyTo(buffer));
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransformPipeline)) return false;
+        TransformPipeline that = (TransformPipeline) o;
+        return Objects.equals(steps, that.steps);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(steps);
+    }
+
+    @Override
+    public String toString() {
+        return "TransformPipeline" + steps;
+    }
+}
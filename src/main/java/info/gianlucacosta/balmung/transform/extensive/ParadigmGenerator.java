@@ -0,0 +1,179 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import info.gianlucacosta.balmung.transform.util.Vowels;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Applies an ordered list of suffix transforms to the same origin in a single pass.
+ * <p>
+ * For example, the transforms could describe the 8 cells of a noun declension:
+ * the generated paradigm is identical to applying each transform in turn, but the stem and its
+ * umlauted variant are computed once - and all the outputs are written into a shared buffer.
+ * <p>
+ * Generators are immutable and can be shared between threads.
+ */
+public class ParadigmGenerator {
+    private final List<SuffixTransform> transforms;
+
+    private final char[][] suffixesToAdd;
+    private final int maxSuffixToAddLength;
+    private final boolean anyUmlaut;
+
+
+    public ParadigmGenerator(List<SuffixTransform> transforms) {
+        Objects.requireNonNull(transforms);
+
+        this.transforms = Collections.unmodifiableList(
+                Arrays.asList(
+                        transforms.toArray(new SuffixTransform[0])
+                )
+        );
+
+        this.suffixesToAdd = new char[transforms.size()][];
+
+        int maxSuffixToAddLength = 0;
+        boolean anyUmlaut = false;
+
+        for (int i = 0; i < suffixesToAdd.length; i++) {
+            SuffixTransform transform =
+                    Objects.requireNonNull(this.transforms.get(i));
+
+            suffixesToAdd[i] =
+                    transform.getSuffixToAdd().toCharArray();
+
+            maxSuffixToAddLength =
+                    Math.max(maxSuffixToAddLength, suffixesToAdd[i].length);
+
+            anyUmlaut |= transform.isAddUmlaut();
+        }
+
+        this.maxSuffixToAddLength = maxSuffixToAddLength;
+        this.anyUmlaut = anyUmlaut;
+    }
+
+
+    public List<SuffixTransform> getTransforms() {
+        return transforms;
+    }
+
+
+    public String[] generate(String origin) {
+        String[] paradigm =
+                new String[transforms.size()];
+
+        generate(origin, paradigm);
+
+        return paradigm;
+    }
+
+
+    /**
+     * Generates the paradigm of the given origin.
+     *
+     * @param origin   The origin string
+     * @param paradigm The target array: its i-th item will be the result of the i-th transform.
+     *                 It must be at least as long as the list of transforms
+     */
+    public void generate(String origin, String[] paradigm) {
+        Objects.requireNonNull(origin);
+
+        if (paradigm.length < transforms.size()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The paradigm array must have at least %d items, but it has %d",
+                            transforms.size(),
+                            paradigm.length
+                    )
+            );
+        }
+
+        int originLength =
+                origin.length();
+
+        char[] buffer =
+                new char[originLength + maxSuffixToAddLength];
+
+        //The buffer prefix having this length is a copy of the origin - except for the umlaut index
+        int copiedStemLength = 0;
+
+        int umlautIndex = -1;
+
+        int originUmlautIndex =
+                anyUmlaut ?
+                        findUmlautIndex(origin, originLength)
+                        :
+                        -1;
+
+        for (int i = 0; i < suffixesToAdd.length; i++) {
+            SuffixTransform transform =
+                    transforms.get(i);
+
+            int stemLength =
+                    transform.getStemLength(origin);
+
+            if (copiedStemLength < stemLength) {
+                origin.getChars(copiedStemLength, stemLength, buffer, copiedStemLength);
+            }
+
+            int requiredUmlautIndex;
+
+            if (!transform.isAddUmlaut()) {
+                requiredUmlautIndex = -1;
+            } else if (originUmlautIndex < stemLength) {
+                requiredUmlautIndex = originUmlautIndex;
+            } else {
+                requiredUmlautIndex = findUmlautIndex(origin, stemLength);
+            }
+
+            if (umlautIndex != requiredUmlautIndex) {
+                if (umlautIndex >= 0) {
+                    buffer[umlautIndex] = origin.charAt(umlautIndex);
+                }
+
+                if (requiredUmlautIndex >= 0) {
+                    buffer[requiredUmlautIndex] = Vowels.addUmlaut(origin.charAt(requiredUmlautIndex));
+                }
+
+                umlautIndex = requiredUmlautIndex;
+            }
+
+            char[] suffixToAdd =
+                    suffixesToAdd[i];
+
+            System.arraycopy(suffixToAdd, 0, buffer, stemLength, suffixToAdd.length);
+
+            copiedStemLength = stemLength;
+
+            paradigm[i] = new String(buffer, 0, stemLength + suffixToAdd.length);
+        }
+    }
+
+
+    private static int findUmlautIndex(String origin, int stemLength) {
+        return Vowels.lastIndexOfUmlautable(origin, 0, stemLength);
+    }
+}
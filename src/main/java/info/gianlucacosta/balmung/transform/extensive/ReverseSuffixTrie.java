@@ -0,0 +1,187 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Trie of suffix transforms, indexed by their reversed suffix to add.
+ * <p>
+ * It finds all the (origin, transform) pairs producing a given result by walking the result
+ * backwards just once, instead of trying each transform in turn.
+ * <p>
+ * The trie is immutable - and therefore thread-safe: it must be rebuilt to include new transforms,
+ * for example from {@link SuffixTransformRegistry#getTransforms()}.
+ */
+public class ReverseSuffixTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final SuffixTransform[] NO_TRANSFORMS = new SuffixTransform[0];
+
+
+    private final Node root;
+    private final int size;
+
+
+    public ReverseSuffixTrie(Collection<SuffixTransform> transforms) {
+        Objects.requireNonNull(transforms);
+
+        List<SuffixTransform> distinctTransforms =
+                transforms
+                        .stream()
+                        .distinct()
+                        .collect(Collectors.toList());
+
+        NodeBuilder rootBuilder = new NodeBuilder();
+
+        distinctTransforms.forEach(transform -> {
+            String suffixToAdd = transform.getSuffixToAdd();
+
+            NodeBuilder nodeBuilder = rootBuilder;
+
+            for (int i = suffixToAdd.length() - 1; i >= 0; i--) {
+                nodeBuilder = nodeBuilder.children.computeIfAbsent(
+                        suffixToAdd.charAt(i),
+                        key -> new NodeBuilder()
+                );
+            }
+
+            nodeBuilder.transforms.add(transform);
+        });
+
+        this.root = rootBuilder.build();
+        this.size = distinctTransforms.size();
+    }
+
+
+    public static ReverseSuffixTrie of(SuffixTransformRegistry registry) {
+        return new ReverseSuffixTrie(registry.getTransforms());
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Finds every (origin, transform) pair producing the given result.
+     *
+     * @param result The result - for example, an inflected form
+     * @return The pairs, ordered by increasing length of the suffix to add
+     */
+    public List<TransformOrigin> invert(String result) {
+        List<TransformOrigin> transformOrigins = new ArrayList<>();
+
+        Node node = root;
+        int stemLength = result.length();
+
+        while (true) {
+            for (SuffixTransform transform : node.transforms) {
+                for (String origin : transform.invertStem(result, stemLength)) {
+                    transformOrigins.add(
+                            new TransformOrigin(origin, transform)
+                    );
+                }
+            }
+
+            if (stemLength == 0) {
+                break;
+            }
+
+            stemLength--;
+
+            node = node.getChild(result.charAt(stemLength));
+
+            if (node == null) {
+                break;
+            }
+        }
+
+        return transformOrigins;
+    }
+
+
+    private static class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final SuffixTransform[] transforms;
+
+
+        Node(char[] keys, Node[] children, SuffixTransform[] transforms) {
+            this.keys = keys;
+            this.children = children;
+            this.transforms = transforms;
+        }
+
+
+        Node getChild(char key) {
+            int keyIndex =
+                    Arrays.binarySearch(keys, key);
+
+            return (keyIndex >= 0) ?
+                    children[keyIndex]
+                    :
+                    null;
+        }
+    }
+
+
+    private static class NodeBuilder {
+        private final Map<Character, NodeBuilder> children = new TreeMap<>();
+        private final List<SuffixTransform> transforms = new ArrayList<>();
+
+
+        Node build() {
+            if (children.isEmpty()) {
+                return new Node(
+                        NO_KEYS,
+                        NO_CHILDREN,
+                        transforms.toArray(NO_TRANSFORMS)
+                );
+            }
+
+            char[] keys = new char[children.size()];
+            Node[] childNodes = new Node[children.size()];
+
+            int childIndex = 0;
+
+            for (Map.Entry<Character, NodeBuilder> childEntry : children.entrySet()) {
+                keys[childIndex] = childEntry.getKey();
+                childNodes[childIndex] = childEntry.getValue().build();
+                childIndex++;
+            }
+
+            return new Node(
+                    keys,
+                    childNodes,
+                    transforms.toArray(NO_TRANSFORMS)
+            );
+        }
+    }
+}
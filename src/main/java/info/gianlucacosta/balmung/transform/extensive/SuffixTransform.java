@@ -20,21 +20,54 @@
 
 package info.gianlucacosta.balmung.transform.extensive;
 
+import info.gianlucacosta.balmung.transform.CharSequenceTransform;
 import info.gianlucacosta.balmung.transform.Transform;
-import info.gianlucacosta.balmung.transform.util.Conversions;
+import info.gianlucacosta.balmung.transform.util.CompactWord;
 import info.gianlucacosta.balmung.transform.util.Vowels;
-
-import java.util.Deque;
-import java.util.LinkedList;
+import info.gianlucacosta.balmung.transform.util.WordBuffer;
+import info.gianlucacosta.balmung.transform.util.WordNormalizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
-public class SuffixTransform implements Transform {
+public class SuffixTransform implements Transform, CharSequenceTransform {
     private final String suffixToRemove;
     private final boolean addUmlaut;
     private final String suffixToAdd;
+    private final int hashCode;
+
+    private volatile Utf8Suffixes utf8Suffixes;
 
 
     public static SuffixTransform compute(String origin, String result) {
+        return computeFromChars(origin, result);
+    }
+
+
+    /**
+     * Computes the transform after converting both strings to NFC, so that
+     * decomposed umlauts are recognized.
+     */
+    public static SuffixTransform compute(String origin, String result, WordNormalizer normalizer) {
+        return computeFromChars(
+                normalizer.normalize(origin),
+                normalizer.normalize(result)
+        );
+    }
+
+
+    public static SuffixTransform compute(CompactWord origin, CompactWord result) {
+        return computeFromChars(origin, result);
+    }
+
+
+    private static SuffixTransform computeFromChars(CharSequence origin, CharSequence result) {
         if (origin.length() > result.length()) {
             throw new IllegalArgumentException(
                     String.format(
@@ -44,20 +77,16 @@ public class SuffixTransform implements Transform {
                     ));
         }
 
-        Deque<Character> originDeque =
-                Conversions.stringToDeque(origin);
-
-        Deque<Character> resultDeque =
-                Conversions.stringToDeque(result);
-
         boolean wasUmlautAdded = false;
 
-        while (!originDeque.isEmpty()) {
+        int commonLength = 0;
+
+        while (commonLength < origin.length()) {
             char originChar =
-                    originDeque.peekFirst();
+                    origin.charAt(commonLength);
 
             char resultChar =
-                    resultDeque.peekFirst();
+                    result.charAt(commonLength);
 
             if (originChar != resultChar) {
                 if (!wasUmlautAdded && Vowels.isUmlautAdded(originChar, resultChar)) {
@@ -67,15 +96,14 @@ public class SuffixTransform implements Transform {
                 }
             }
 
-            originDeque.removeFirst();
-            resultDeque.removeFirst();
+            commonLength++;
         }
 
         String removedSuffix =
-                Conversions.streamToString(originDeque.stream());
+                origin.subSequence(commonLength, origin.length()).toString();
 
         String addedSuffix =
-                Conversions.streamToString(resultDeque.stream());
+                result.subSequence(commonLength, result.length()).toString();
 
         return new SuffixTransform(removedSuffix, wasUmlautAdded, addedSuffix);
     }
@@ -88,6 +116,7 @@ public class SuffixTransform implements Transform {
         this.suffixToRemove = suffixToRemove;
         this.addUmlaut = addUmlaut;
         this.suffixToAdd = suffixToAdd;
+        this.hashCode = Objects.hash(suffixToRemove, addUmlaut, suffixToAdd);
     }
 
     public String getSuffixToRemove() {
@@ -105,67 +134,401 @@ public class SuffixTransform implements Transform {
 
     @Override
     public String apply(String origin) {
-        if (origin.length() < suffixToRemove.length()) {
-            throw new IllegalArgumentException(
-                    String.format(
-                            "The original string ('%s') must not be shorter than the suffix to remove ('%s')!",
-                            origin,
-                            suffixToRemove
+        int stemLength =
+                getStemLength(origin);
+
+        char[] result =
+                new char[stemLength + suffixToAdd.length()];
+
+        origin.getChars(0, stemLength, result, 0);
+        suffixToAdd.getChars(0, suffixToAdd.length(), result, stemLength);
+
+        if (addUmlaut) {
+            int umlautIndex =
+                    Vowels.lastIndexOfUmlautable(result, 0, stemLength);
+
+            if (umlautIndex >= 0) {
+                result[umlautIndex] = Vowels.addUmlaut(result[umlautIndex]);
+            }
+        }
+
+        return new String(result);
+    }
+
+
+    public CompactWord apply(CompactWord origin) {
+        int stemLength =
+                getStemLength(origin);
+
+        CompactWord result =
+                origin.replaceSuffix(stemLength, suffixToAdd);
+
+        if (addUmlaut) {
+            int umlautIndex =
+                    Vowels.lastIndexOfUmlautable(origin, 0, stemLength);
+
+            if (umlautIndex >= 0) {
+                result = result.withCharAt(umlautIndex, Vowels.addUmlaut(result.charAt(umlautIndex)));
+            }
+        }
+
+        return result;
+    }
+
+
+    @Override
+    public void applyTo(WordBuffer buffer) {
+        int stemLength =
+                getStemLength(buffer);
+
+        buffer.setLength(stemLength);
+
+        if (addUmlaut) {
+            int umlautIndex =
+                    buffer.lastIndexOfUmlautable(stemLength);
+
+            if (umlautIndex >= 0) {
+                buffer.replaceAt(umlautIndex, Vowels.addUmlaut(buffer.charAt(umlautIndex)));
+            }
+        }
+
+        buffer.appendSuffix(suffixToAdd);
+    }
+
+
+    @Override
+    public Optional<Transform> mergeWith(Transform next) {
+        if (!(next instanceof SuffixTransform)) {
+            return Optional.empty();
+        }
+
+        SuffixTransform nextSuffixTransform =
+                (SuffixTransform) next;
+
+        String nextSuffixToRemove =
+                nextSuffixTransform.suffixToRemove;
+
+        if (suffixToAdd.endsWith(nextSuffixToRemove)) {
+            //The next transform only removes chars added by this one
+            String keptSuffix =
+                    suffixToAdd.substring(0, suffixToAdd.length() - nextSuffixToRemove.length());
+
+            if (!nextSuffixTransform.addUmlaut) {
+                return Optional.of(
+                        new SuffixTransform(suffixToRemove, addUmlaut, keptSuffix + nextSuffixTransform.suffixToAdd)
+                );
+            }
+
+            for (int i = keptSuffix.length() - 1; i >= 0; i--) {
+                char keptChar = keptSuffix.charAt(i);
+
+                if (Vowels.canReceiveUmlaut(keptChar)) {
+                    char[] umlautedSuffix = keptSuffix.toCharArray();
+                    umlautedSuffix[i] = Vowels.addUmlaut(keptChar);
+
+                    return Optional.of(
+                            new SuffixTransform(suffixToRemove, addUmlaut, new String(umlautedSuffix) + nextSuffixTransform.suffixToAdd)
+                    );
+                }
+            }
+
+            //The umlaut of the next transform would affect the stem - which can receive one umlaut only
+            if (addUmlaut) {
+                return Optional.empty();
+            }
+
+            return Optional.of(
+                    new SuffixTransform(suffixToRemove, true, keptSuffix + nextSuffixTransform.suffixToAdd)
+            );
+        }
+
+        if (nextSuffixToRemove.endsWith(suffixToAdd)) {
+            //The next transform also removes chars belonging to the stem
+            String removedStemSuffix =
+                    nextSuffixToRemove.substring(0, nextSuffixToRemove.length() - suffixToAdd.length());
+
+            if (addUmlaut) {
+                //This transform's umlaut must stay out of the chars removed by the next transform
+                if (nextSuffixTransform.addUmlaut || containsUmlautRelatedVowels(removedStemSuffix)) {
+                    return Optional.empty();
+                }
+            }
+
+            return Optional.of(
+                    new SuffixTransform(
+                            removedStemSuffix + suffixToRemove,
+                            addUmlaut || nextSuffixTransform.addUmlaut,
+                            nextSuffixTransform.suffixToAdd
                     )
             );
         }
 
-        Deque<Character> originDeque =
-                Conversions.stringToDeque(origin);
+        //The next transform can never be applied to the result of this one
+        return Optional.empty();
+    }
 
-        Deque<Character> suffixToRemoveDeque =
-                Conversions.stringToDeque(suffixToRemove);
 
-        while (!suffixToRemoveDeque.isEmpty()) {
-            char originChar =
-                    originDeque.removeLast();
+    private static boolean containsUmlautRelatedVowels(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
 
-            char charToRemove =
-                    suffixToRemoveDeque.removeLast();
+            if (Vowels.canReceiveUmlaut(c) || Vowels.isUmlautVowel(c)) {
+                return true;
+            }
+        }
 
-            if (originChar != charToRemove) {
-                throw new IllegalArgumentException(
-                        String.format("'%s' does not end with '%s'",
-                                origin,
-                                suffixToRemove
-                        )
-                );
+        return false;
+    }
+
+
+    @Override
+    public boolean isApplicableTo(CharSequence origin) {
+        return origin.length() >= suffixToRemove.length() &&
+                endsWithSuffixToRemove(origin);
+    }
+
+
+    @Override
+    public void applyTo(CharSequence origin, Appendable target) throws IOException {
+        int stemLength =
+                getStemLength(origin);
+
+        int umlautIndex =
+                addUmlaut ?
+                        Vowels.lastIndexOfUmlautable(origin, 0, stemLength)
+                        :
+                        -1;
+
+        if (umlautIndex >= 0) {
+            target
+                    .append(origin, 0, umlautIndex)
+                    .append(Vowels.addUmlaut(origin.charAt(umlautIndex)))
+                    .append(origin, umlautIndex + 1, stemLength);
+        } else {
+            target.append(origin, 0, stemLength);
+        }
+
+        target.append(suffixToAdd);
+    }
+
+
+    @Override
+    public boolean isApplicableToUtf8(ByteBuffer source, int offset, int length) {
+        byte[] suffixToRemoveBytes =
+                getUtf8Suffixes().suffixToRemove;
+
+        if (length < suffixToRemoveBytes.length) {
+            return false;
+        }
+
+        int stemEnd =
+                offset + length - suffixToRemoveBytes.length;
+
+        for (int i = 0; i < suffixToRemoveBytes.length; i++) {
+            if (source.get(stemEnd + i) != suffixToRemoveBytes[i]) {
+                return false;
             }
         }
 
+        return true;
+    }
 
-        Deque<Character> resultDeque = new LinkedList<>(
-                Conversions.stringToList(suffixToAdd)
-        );
 
+    @Override
+    public int applyToUtf8(ByteBuffer source, int offset, int length, ByteBuffer target) {
+        if (!isApplicableToUtf8(source, offset, length)) {
+            byte[] originBytes = new byte[length];
 
-        boolean umlautApplied = false;
+            for (int i = 0; i < length; i++) {
+                originBytes[i] = source.get(offset + i);
+            }
 
-        while (!originDeque.isEmpty()) {
-            char finalOriginCharacter =
-                    originDeque.removeLast();
+            //Only used to throw the very same exception as the other paths
+            getStemLength(new String(originBytes, StandardCharsets.UTF_8));
+        }
 
-            if (addUmlaut && !umlautApplied) {
-                if (Vowels.canReceiveUmlaut(finalOriginCharacter)) {
-                    resultDeque.addFirst(
-                            Vowels.addUmlaut(finalOriginCharacter)
-                    );
+        Utf8Suffixes currentUtf8Suffixes =
+                getUtf8Suffixes();
 
-                    umlautApplied = true;
-                } else {
-                    resultDeque.addFirst(finalOriginCharacter);
+        int stemLength =
+                length - currentUtf8Suffixes.suffixToRemove.length;
+
+        int umlautIndex = -1;
+
+        if (addUmlaut) {
+            //ASCII bytes never appear within multi-byte UTF-8 sequences
+            for (int i = stemLength - 1; i >= 0; i--) {
+                if (Vowels.canReceiveUmlaut((char) source.get(offset + i))) {
+                    umlautIndex = i;
+                    break;
                 }
-            } else {
-                resultDeque.addFirst(finalOriginCharacter);
             }
         }
 
-        return Conversions.streamToString(resultDeque.stream());
+        ByteBuffer stemBuffer =
+                source.duplicate();
+
+        int writtenBytes;
+
+        if (umlautIndex >= 0) {
+            char umlautVowel =
+                    Vowels.addUmlaut((char) source.get(offset + umlautIndex));
+
+            putRange(stemBuffer, offset, offset + umlautIndex, target);
+
+            //Umlaut vowels are encoded as 2 bytes
+            target.put((byte) (0xC0 | (umlautVowel >> 6)));
+            target.put((byte) (0x80 | (umlautVowel & 0x3F)));
+
+            putRange(stemBuffer, offset + umlautIndex + 1, offset + stemLength, target);
+
+            writtenBytes = stemLength + 1;
+        } else {
+            putRange(stemBuffer, offset, offset + stemLength, target);
+
+            writtenBytes = stemLength;
+        }
+
+        target.put(currentUtf8Suffixes.suffixToAdd);
+
+        return writtenBytes + currentUtf8Suffixes.suffixToAdd.length;
+    }
+
+
+    private static void putRange(ByteBuffer source, int fromIndex, int toIndex, ByteBuffer target) {
+        source.limit(toIndex);
+        source.position(fromIndex);
+
+        target.put(source);
+    }
+
+
+    private Utf8Suffixes getUtf8Suffixes() {
+        Utf8Suffixes currentUtf8Suffixes = utf8Suffixes;
+
+        if (currentUtf8Suffixes == null) {
+            currentUtf8Suffixes = new Utf8Suffixes(
+                    suffixToRemove.getBytes(StandardCharsets.UTF_8),
+                    suffixToAdd.getBytes(StandardCharsets.UTF_8)
+            );
+
+            utf8Suffixes = currentUtf8Suffixes;
+        }
+
+        return currentUtf8Suffixes;
+    }
+
+
+    /**
+     * Finds every origin that this transform would turn into the given result.
+     * <p>
+     * When an umlaut must be added, the transform applies it to the last vowel of the stem
+     * that can receive it - so each umlaut vowel not followed by such vowels could have been
+     * produced by the transform; furthermore, if the stem has no vowel receiving umlaut,
+     * the origin could have had no such vowel at all.
+     *
+     * @param result The result of the transform
+     * @return The origins, possibly empty
+     */
+    public List<String> invert(String result) {
+        if (!result.endsWith(suffixToAdd)) {
+            return Collections.emptyList();
+        }
+
+        return invertStem(
+                result,
+                result.length() - suffixToAdd.length()
+        );
+    }
+
+
+    /**
+     * Inverts the transform, knowing that the result ends with the suffix to add.
+     *
+     * @param result     The result of the transform
+     * @param stemLength The length of the result without the suffix to add
+     * @return The origins, possibly empty
+     */
+    List<String> invertStem(String result, int stemLength) {
+        String stem =
+                result.substring(0, stemLength);
+
+        if (!addUmlaut) {
+            return Collections.singletonList(stem + suffixToRemove);
+        }
+
+        List<String> origins = new ArrayList<>();
+
+        for (int i = stemLength - 1; i >= 0; i--) {
+            char stemChar = stem.charAt(i);
+
+            if (Vowels.canReceiveUmlaut(stemChar)) {
+                //The transform would have added an umlaut to this very vowel, or to a later one
+                return origins;
+            }
+
+            if (Vowels.isUmlautVowel(stemChar)) {
+                char[] originalStem = stem.toCharArray();
+                originalStem[i] = Vowels.removeUmlaut(stemChar);
+                origins.add(new String(originalStem) + suffixToRemove);
+            }
+        }
+
+        origins.add(stem + suffixToRemove);
+
+        return origins;
+    }
+
+
+    /**
+     * Ensures that the transform can be applied to the given string.
+     *
+     * @param origin The string to transform
+     * @return The length of the stem - that is, of the origin without the suffix to remove
+     */
+    int getStemLength(CharSequence origin) {
+        if (origin.length() < suffixToRemove.length()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The original string ('%s') must not be shorter than the suffix to remove ('%s')!",
+                            origin,
+                            suffixToRemove
+                    )
+            );
+        }
+
+        if (!endsWithSuffixToRemove(origin)) {
+            throw new IllegalArgumentException(
+                    String.format("'%s' does not end with '%s'",
+                            origin,
+                            suffixToRemove
+                    )
+            );
+        }
+
+        return origin.length() - suffixToRemove.length();
+    }
+
+
+    private boolean endsWithSuffixToRemove(CharSequence origin) {
+        if (origin instanceof String) {
+            return ((String) origin).endsWith(suffixToRemove);
+        }
+
+        if (origin instanceof CompactWord) {
+            return ((CompactWord) origin).endsWith(suffixToRemove);
+        }
+
+        int stemLength =
+                origin.length() - suffixToRemove.length();
+
+        for (int i = 0; i < suffixToRemove.length(); i++) {
+            if (origin.charAt(stemLength + i) != suffixToRemove.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
 
@@ -174,14 +537,15 @@ public class SuffixTransform implements Transform {
         if (this == o) return true;
         if (!(o instanceof SuffixTransform)) return false;
         SuffixTransform that = (SuffixTransform) o;
-        return addUmlaut == that.addUmlaut &&
+        return hashCode == that.hashCode &&
+                addUmlaut == that.addUmlaut &&
                 Objects.equals(suffixToRemove, that.suffixToRemove) &&
                 Objects.equals(suffixToAdd, that.suffixToAdd);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(suffixToRemove, addUmlaut, suffixToAdd);
+        return hashCode;
     }
 
     @Override
@@ -207,4 +571,16 @@ public class SuffixTransform implements Transform {
             }
         }
     }
+
+
+    private static class Utf8Suffixes {
+        private final byte[] suffixToRemove;
+        private final byte[] suffixToAdd;
+
+
+        Utf8Suffixes(byte[] suffixToRemove, byte[] suffixToAdd) {
+            this.suffixToRemove = suffixToRemove;
+            this.suffixToAdd = suffixToAdd;
+        }
+    }
 }
@@ -0,0 +1,450 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Compact binary format for tables of suffix transforms.
+ * <p>
+ * A table is encoded as:
+ * <ul>
+ * <li>the varint length of the rest of the encoding</li>
+ * <li>the format version, as a varint</li>
+ * <li>the pool of distinct suffixes: a varint count, then each suffix as
+ * a varint length followed by its chars, as varints</li>
+ * <li>the varint count of the cells, then each cell as a flag byte followed -
+ * unless the cell is empty - by the varint pool indexes of the suffix to remove
+ * and of the suffix to add</li>
+ * </ul>
+ * <p>
+ * The very same bytes are produced for DataOutput and ByteBuffer, so the two
+ * families of methods are interchangeable. Tables can contain null cells.
+ */
+public final class SuffixTransformCodec {
+    public static final int VERSION = 1;
+
+    private static final int ADD_UMLAUT_FLAG = 1;
+    private static final int EMPTY_CELL_FLAG = 2;
+
+    private static final int INITIAL_READ_BUFFER_LENGTH = 4096;
+
+
+    public static void writeTransform(SuffixTransform transform, DataOutput output) throws IOException {
+        Objects.requireNonNull(transform);
+
+        writeTable(Collections.singletonList(transform), output);
+    }
+
+
+    public static SuffixTransform readTransform(DataInput input) throws IOException {
+        return getSingleTransform(readTable(input));
+    }
+
+
+    public static void writeTransform(SuffixTransform transform, ByteBuffer target) {
+        Objects.requireNonNull(transform);
+
+        writeTable(Collections.singletonList(transform), target);
+    }
+
+
+    public static SuffixTransform readTransform(ByteBuffer source) {
+        return getSingleTransform(readTable(source));
+    }
+
+
+    private static SuffixTransform getSingleTransform(List<SuffixTransform> table) {
+        if (table.size() != 1 || table.get(0) == null) {
+            throw new IllegalArgumentException(
+                    String.format("Expected a single transform, found a table of %d cells", table.size())
+            );
+        }
+
+        return table.get(0);
+    }
+
+
+    public static void writeTable(List<SuffixTransform> table, DataOutput output) throws IOException {
+        ByteSink sink =
+                encode(table);
+
+        output.write(sink.bytes, 0, sink.length);
+    }
+
+
+    public static List<SuffixTransform> readTable(DataInput input) throws IOException {
+        int payloadLength =
+                readVarint(input);
+
+        //The buffer grows while reading, so that a forged length cannot trigger a huge allocation
+        byte[] payload =
+                new byte[Math.min(payloadLength, INITIAL_READ_BUFFER_LENGTH)];
+
+        int readLength = 0;
+
+        while (readLength < payloadLength) {
+            if (readLength == payload.length) {
+                payload = Arrays.copyOf(
+                        payload,
+                        (int) Math.min(payloadLength, 2L * payload.length)
+                );
+            }
+
+            int chunkLength =
+                    payload.length - readLength;
+
+            input.readFully(payload, readLength, chunkLength);
+            readLength += chunkLength;
+        }
+
+        try {
+            return decodePayload(ByteBuffer.wrap(payload));
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated suffix transform table", ex);
+        }
+    }
+
+
+    public static void writeTable(List<SuffixTransform> table, ByteBuffer target) {
+        ByteSink sink =
+                encode(table);
+
+        target.put(sink.bytes, 0, sink.length);
+    }
+
+
+    public static List<SuffixTransform> readTable(ByteBuffer source) {
+        try {
+            int payloadLength =
+                    readVarint(source);
+
+            if (payloadLength > source.remaining()) {
+                throw new BufferUnderflowException();
+            }
+
+            ByteBuffer payload =
+                    source.slice();
+
+            payload.limit(payloadLength);
+
+            List<SuffixTransform> table =
+                    decodePayload(payload);
+
+            source.position(source.position() + payloadLength);
+
+            return table;
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated suffix transform table", ex);
+        }
+    }
+
+
+    public static byte[] encodeTable(List<SuffixTransform> table) {
+        ByteSink sink =
+                encode(table);
+
+        return Arrays.copyOf(sink.bytes, sink.length);
+    }
+
+
+    public static List<SuffixTransform> decodeTable(byte[] bytes) {
+        return readTable(ByteBuffer.wrap(bytes));
+    }
+
+
+    private static ByteSink encode(List<SuffixTransform> table) {
+        Objects.requireNonNull(table);
+
+        Map<String, Integer> pool =
+                new LinkedHashMap<>();
+
+        for (SuffixTransform transform : table) {
+            if (transform != null) {
+                pool.putIfAbsent(transform.getSuffixToRemove(), pool.size());
+                pool.putIfAbsent(transform.getSuffixToAdd(), pool.size());
+            }
+        }
+
+        ByteSink payload =
+                new ByteSink(16 + 8 * pool.size() + 3 * table.size());
+
+        payload.writeVarint(VERSION);
+
+        payload.writeVarint(pool.size());
+
+        for (String suffix : pool.keySet()) {
+            payload.writeVarint(suffix.length());
+
+            for (int i = 0; i < suffix.length(); i++) {
+                payload.writeVarint(suffix.charAt(i));
+            }
+        }
+
+        payload.writeVarint(table.size());
+
+        for (SuffixTransform transform : table) {
+            if (transform == null) {
+                payload.writeByte(EMPTY_CELL_FLAG);
+                continue;
+            }
+
+            payload.writeByte(
+                    transform.isAddUmlaut() ?
+                            ADD_UMLAUT_FLAG
+                            :
+                            0
+            );
+
+            payload.writeVarint(pool.get(transform.getSuffixToRemove()));
+            payload.writeVarint(pool.get(transform.getSuffixToAdd()));
+        }
+
+        ByteSink result =
+                new ByteSink(payload.length + 5);
+
+        result.writeVarint(payload.length);
+        result.write(payload.bytes, payload.length);
+
+        return result;
+    }
+
+
+    private static List<SuffixTransform> decodePayload(ByteBuffer payload) {
+        int version =
+                readVarint(payload);
+
+        if (version != VERSION) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported suffix transform table version: %d", version)
+            );
+        }
+
+        int poolSize =
+                readCount(payload, "suffix pool size");
+
+        String[] pool =
+                new String[poolSize];
+
+        char[] chars =
+                new char[16];
+
+        for (int i = 0; i < poolSize; i++) {
+            int suffixLength =
+                    readCount(payload, "suffix length");
+
+            if (suffixLength > chars.length) {
+                chars = new char[Math.max(suffixLength, 2 * chars.length)];
+            }
+
+            for (int j = 0; j < suffixLength; j++) {
+                int charValue =
+                        readVarint(payload);
+
+                if (charValue > Character.MAX_VALUE) {
+                    throw new IllegalArgumentException(
+                            String.format("Invalid suffix char: 0x%X", charValue)
+                    );
+                }
+
+                chars[j] = (char) charValue;
+            }
+
+            pool[i] = new String(chars, 0, suffixLength);
+        }
+
+        int cellCount =
+                readCount(payload, "cell count");
+
+        List<SuffixTransform> table =
+                new ArrayList<>(cellCount);
+
+        for (int i = 0; i < cellCount; i++) {
+            int flags =
+                    payload.get();
+
+            if ((flags & ~(ADD_UMLAUT_FLAG | EMPTY_CELL_FLAG)) != 0
+                    || flags == (ADD_UMLAUT_FLAG | EMPTY_CELL_FLAG)) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid cell flags: 0x%02X", flags & 0xFF)
+                );
+            }
+
+            if ((flags & EMPTY_CELL_FLAG) != 0) {
+                table.add(null);
+                continue;
+            }
+
+            String suffixToRemove =
+                    getPoolEntry(pool, readVarint(payload));
+
+            String suffixToAdd =
+                    getPoolEntry(pool, readVarint(payload));
+
+            table.add(
+                    new SuffixTransform(
+                            suffixToRemove,
+                            (flags & ADD_UMLAUT_FLAG) != 0,
+                            suffixToAdd
+                    )
+            );
+        }
+
+        if (payload.hasRemaining()) {
+            throw new IllegalArgumentException(
+                    String.format("%d unexpected bytes after the suffix transform table", payload.remaining())
+            );
+        }
+
+        return table;
+    }
+
+
+    private static String getPoolEntry(String[] pool, int index) {
+        if (index < 0 || index >= pool.length) {
+            throw new IllegalArgumentException(
+                    String.format("Suffix index %d is beyond the pool size %d", index, pool.length)
+            );
+        }
+
+        return pool[index];
+    }
+
+
+    /**
+     * Reads a count of items, each taking at least 1 byte - rejecting counts
+     * exceeding the remaining bytes before anything is allocated.
+     */
+    private static int readCount(ByteBuffer payload, String description) {
+        int count =
+                readVarint(payload);
+
+        if (count > payload.remaining()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The %s (%d) exceeds the %d remaining bytes",
+                            description,
+                            count,
+                            payload.remaining()
+                    )
+            );
+        }
+
+        return count;
+    }
+
+
+    private static int readVarint(ByteBuffer source) {
+        int result = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte currentByte = source.get();
+
+            checkVarintByte(currentByte, shift);
+
+            result |= (currentByte & 0x7F) << shift;
+
+            if (currentByte >= 0) {
+                return result;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+
+    private static int readVarint(DataInput input) throws IOException {
+        int result = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte currentByte = input.readByte();
+
+            checkVarintByte(currentByte, shift);
+
+            result |= (currentByte & 0x7F) << shift;
+
+            if (currentByte >= 0) {
+                return result;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+
+    /**
+     * Ensures that decoded varints are non-negative ints: their 5th byte can only carry 3 bits.
+     */
+    private static void checkVarintByte(byte currentByte, int shift) {
+        if (shift == 28 && (currentByte & 0xF8) != 0) {
+            throw new IllegalArgumentException("Malformed varint: it exceeds 31 bits");
+        }
+    }
+
+
+    private static class ByteSink {
+        byte[] bytes;
+        int length;
+
+
+        ByteSink(int initialCapacity) {
+            bytes = new byte[initialCapacity];
+        }
+
+
+        void writeByte(int value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+            }
+
+            bytes[length++] = (byte) value;
+        }
+
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+
+            writeByte(value);
+        }
+
+
+        void write(byte[] source, int sourceLength) {
+            if (length + sourceLength > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + sourceLength, 2 * bytes.length));
+            }
+
+            System.arraycopy(source, 0, bytes, length, sourceLength);
+            length += sourceLength;
+        }
+    }
+
+
+    private SuffixTransformCodec() {
+    }
+}
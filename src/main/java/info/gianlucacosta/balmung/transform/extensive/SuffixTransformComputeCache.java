@@ -0,0 +1,101 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import info.gianlucacosta.balmung.transform.util.CacheStatistics;
+import info.gianlucacosta.balmung.transform.util.SegmentedLruCache;
+
+import java.util.Objects;
+
+/**
+ * Memoizes {@link SuffixTransform#compute(String, String)} in a bounded, concurrent segmented LRU cache
+ * keyed by the (origin, result) pair.
+ * <p>
+ * The cached transforms are interned by the given registry.
+ */
+public class SuffixTransformComputeCache {
+    private final SuffixTransformRegistry registry;
+    private final SegmentedLruCache<ComputeKey, SuffixTransform> cache;
+
+
+    public SuffixTransformComputeCache(long maxSize) {
+        this(new SuffixTransformRegistry(), maxSize);
+    }
+
+
+    public SuffixTransformComputeCache(SuffixTransformRegistry registry, long maxSize) {
+        Objects.requireNonNull(registry);
+
+        this.registry = registry;
+        this.cache = new SegmentedLruCache<>(maxSize);
+    }
+
+
+    public SuffixTransformRegistry getRegistry() {
+        return registry;
+    }
+
+
+    public SuffixTransform compute(String origin, String result) {
+        return cache.get(
+                new ComputeKey(origin, result),
+                key -> registry.compute(key.origin, key.result)
+        );
+    }
+
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+
+    private static class ComputeKey {
+        private final String origin;
+        private final String result;
+        private final int hashCode;
+
+
+        ComputeKey(String origin, String result) {
+            Objects.requireNonNull(origin);
+            Objects.requireNonNull(result);
+
+            this.origin = origin;
+            this.result = result;
+            this.hashCode = 31 * origin.hashCode() + result.hashCode();
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ComputeKey)) return false;
+            ComputeKey that = (ComputeKey) o;
+            return hashCode == that.hashCode &&
+                    origin.equals(that.origin) &&
+                    result.equals(that.result);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
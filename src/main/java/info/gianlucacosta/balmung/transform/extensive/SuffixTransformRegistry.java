@@ -0,0 +1,138 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns suffix transforms, so that equal transforms are always the very same instance.
+ * <p>
+ * Every canonical transform receives a dense id - starting from 0, in registration order.
+ * Lookups never lock, whereas registering a new transform is serialized.
+ */
+public class SuffixTransformRegistry {
+    private static final int INITIAL_CAPACITY = 64;
+
+
+    private final ConcurrentMap<SuffixTransform, Integer> ids =
+            new ConcurrentHashMap<>();
+
+    private volatile SuffixTransform[] transforms =
+            new SuffixTransform[INITIAL_CAPACITY];
+
+    private volatile int size;
+
+
+    public SuffixTransform intern(String suffixToRemove, boolean addUmlaut, String suffixToAdd) {
+        return intern(
+                new SuffixTransform(suffixToRemove, addUmlaut, suffixToAdd)
+        );
+    }
+
+
+    public SuffixTransform intern(SuffixTransform transform) {
+        Objects.requireNonNull(transform);
+
+        Integer id = ids.get(transform);
+
+        if (id != null) {
+            return transforms[id];
+        }
+
+        return register(transform);
+    }
+
+
+    public SuffixTransform compute(String origin, String result) {
+        return intern(
+                SuffixTransform.compute(origin, result)
+        );
+    }
+
+
+    private synchronized SuffixTransform register(SuffixTransform transform) {
+        Integer existingId = ids.get(transform);
+
+        if (existingId != null) {
+            return transforms[existingId];
+        }
+
+        int id = size;
+
+        SuffixTransform[] currentTransforms = transforms;
+
+        if (id == currentTransforms.length) {
+            currentTransforms = Arrays.copyOf(currentTransforms, 2 * id);
+        }
+
+        currentTransforms[id] = transform;
+
+        transforms = currentTransforms;
+        size = id + 1;
+
+        ids.put(transform, id);
+
+        return transform;
+    }
+
+
+    public OptionalInt getId(SuffixTransform transform) {
+        Integer id = ids.get(transform);
+
+        return (id != null) ?
+                OptionalInt.of(id)
+                :
+                OptionalInt.empty();
+    }
+
+
+    public SuffixTransform getTransform(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException(
+                    String.format("Unregistered transform id: %d", id)
+            );
+        }
+
+        return transforms[id];
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public List<SuffixTransform> getTransforms() {
+        int currentSize = size;
+
+        return Collections.unmodifiableList(
+                Arrays.asList(
+                        Arrays.copyOf(transforms, currentSize)
+                )
+        );
+    }
+}
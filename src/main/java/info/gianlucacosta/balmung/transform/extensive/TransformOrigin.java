@@ -0,0 +1,69 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import java.util.Objects;
+
+/**
+ * Origin that a suffix transform would turn into a given result.
+ */
+public class TransformOrigin {
+    private final String origin;
+    private final SuffixTransform transform;
+
+
+    public TransformOrigin(String origin, SuffixTransform transform) {
+        Objects.requireNonNull(origin);
+        Objects.requireNonNull(transform);
+
+        this.origin = origin;
+        this.transform = transform;
+    }
+
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public SuffixTransform getTransform() {
+        return transform;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransformOrigin)) return false;
+        TransformOrigin that = (TransformOrigin) o;
+        return Objects.equals(origin, that.origin) &&
+                Objects.equals(transform, that.transform);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(origin, transform);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s)", origin, transform);
+    }
+}
@@ -0,0 +1,62 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+/**
+ * Table-driven classification of chars.
+ * <p>
+ * Each char in the Latin-1 and Latin Extended-A/B ranges has a set of flags, that can be tested
+ * via bit masks; all the other chars have no flags.
+ */
+public interface CharClass {
+    int PLAIN_VOWEL = 1;
+    int UMLAUT_VOWEL = 1 << 1;
+    int UMLAUTABLE = 1 << 2;
+    int UPPERCASE = 1 << 3;
+
+    int VOWEL = PLAIN_VOWEL | UMLAUT_VOWEL;
+
+
+    /**
+     * The first char not covered by the classification table.
+     */
+    char TABLE_LIMIT = '\u0250';
+
+
+    static int of(char c) {
+        return (c < TABLE_LIMIT) ?
+                CharClassTables.FLAGS[c]
+                :
+                0;
+    }
+
+
+    /**
+     * Tests the flags of a char.
+     *
+     * @param c    The char
+     * @param mask The flags to test - for example, {@code CharClass.VOWEL | CharClass.UPPERCASE}
+     * @return true if the char has at least one of the flags in the mask
+     */
+    static boolean test(char c, int mask) {
+        return (of(c) & mask) != 0;
+    }
+}
@@ -0,0 +1,82 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+/**
+ * Lookup tables backing {@link CharClass} and {@link Vowels}.
+ */
+final class CharClassTables {
+    static final byte[] FLAGS = new byte[CharClass.TABLE_LIMIT];
+
+    /**
+     * For each vowel, the result of adding umlaut - or 0 for non-vowels.
+     */
+    static final char[] ADDED_UMLAUTS = new char[CharClass.TABLE_LIMIT];
+
+    /**
+     * For each vowel, the result of removing umlaut - or 0 for non-vowels.
+     */
+    static final char[] REMOVED_UMLAUTS = new char[CharClass.TABLE_LIMIT];
+
+    /**
+     * For each umlautable and umlaut vowel, its lowercase plain vowel - or 0 for the other chars.
+     */
+    static final char[] UMLAUT_BASES = new char[CharClass.TABLE_LIMIT];
+
+
+    static {
+        for (char c = 0; c < CharClass.TABLE_LIMIT; c++) {
+            if (Character.isUpperCase(c)) {
+                FLAGS[c] |= CharClass.UPPERCASE;
+            }
+        }
+
+        String plainVowels = "AEIOUaeiou";
+        String umlautVowels = "ÄEIÖÜäeiöü";
+
+        for (int i = 0; i < plainVowels.length(); i++) {
+            char plainVowel = plainVowels.charAt(i);
+            char umlautVowel = umlautVowels.charAt(i);
+
+            FLAGS[plainVowel] |= CharClass.PLAIN_VOWEL;
+
+            ADDED_UMLAUTS[plainVowel] = umlautVowel;
+            REMOVED_UMLAUTS[plainVowel] = plainVowel;
+
+            if (umlautVowel != plainVowel) {
+                char base = Character.toLowerCase(plainVowel);
+
+                FLAGS[plainVowel] |= CharClass.UMLAUTABLE;
+                FLAGS[umlautVowel] |= CharClass.UMLAUT_VOWEL;
+
+                ADDED_UMLAUTS[umlautVowel] = umlautVowel;
+                REMOVED_UMLAUTS[umlautVowel] = plainVowel;
+
+                UMLAUT_BASES[plainVowel] = base;
+                UMLAUT_BASES[umlautVowel] = base;
+            }
+        }
+    }
+
+
+    private CharClassTables() {
+    }
+}
@@ -0,0 +1,352 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable word stored as ISO-8859-1 bytes - one byte per char - whenever all its chars
+ * fit in Latin-1, which is the case for virtually all German words, umlauts and ß included.
+ * <p>
+ * Words containing other chars fall back to UTF-16, two bytes per char.
+ * <p>
+ * The hash code is the same as the one of the equivalent String, and it is cached.
+ */
+public final class CompactWord implements CharSequence, Comparable<CompactWord> {
+    private static final int LATIN1_LIMIT = 0xFF;
+
+    public static final CompactWord EMPTY =
+            new CompactWord(new byte[0], false);
+
+
+    private final byte[] value;
+    private final boolean utf16;
+    private int hashCode;
+
+
+    public static CompactWord of(CharSequence source) {
+        Objects.requireNonNull(source);
+
+        if (source instanceof CompactWord) {
+            return (CompactWord) source;
+        }
+
+        int length =
+                source.length();
+
+        if (length == 0) {
+            return EMPTY;
+        }
+
+        byte[] latin1Bytes =
+                new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+
+            if (c > LATIN1_LIMIT) {
+                return new CompactWord(toUtf16Bytes(source), true);
+            }
+
+            latin1Bytes[i] = (byte) c;
+        }
+
+        return new CompactWord(latin1Bytes, false);
+    }
+
+
+    private static byte[] toUtf16Bytes(CharSequence source) {
+        byte[] result =
+                new byte[2 * source.length()];
+
+        for (int i = 0; i < source.length(); i++) {
+            putUtf16(result, i, source.charAt(i));
+        }
+
+        return result;
+    }
+
+
+    private static void putUtf16(byte[] bytes, int index, char c) {
+        bytes[2 * index] = (byte) (c >>> 8);
+        bytes[2 * index + 1] = (byte) c;
+    }
+
+
+    private static char getUtf16(byte[] bytes, int index) {
+        return (char) (((bytes[2 * index] & 0xFF) << 8) | (bytes[2 * index + 1] & 0xFF));
+    }
+
+
+    private CompactWord(byte[] value, boolean utf16) {
+        this.value = value;
+        this.utf16 = utf16;
+    }
+
+
+    public boolean isLatin1() {
+        return !utf16;
+    }
+
+
+    @Override
+    public int length() {
+        return utf16 ?
+                value.length >> 1
+                :
+                value.length;
+    }
+
+
+    public boolean isEmpty() {
+        return value.length == 0;
+    }
+
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of the word length %d", index, length())
+            );
+        }
+
+        return utf16 ?
+                getUtf16(value, index)
+                :
+                (char) (value[index] & 0xFF);
+    }
+
+
+    @Override
+    public CompactWord subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Invalid range [%d, %d) for length %d", start, end, length())
+            );
+        }
+
+        if (start == 0 && end == length()) {
+            return this;
+        }
+
+        if (!utf16) {
+            return new CompactWord(Arrays.copyOfRange(value, start, end), false);
+        }
+
+        return of(toString().substring(start, end));
+    }
+
+
+    public boolean startsWith(CharSequence prefix) {
+        return regionMatches(0, prefix);
+    }
+
+
+    public boolean endsWith(CharSequence suffix) {
+        return regionMatches(length() - suffix.length(), suffix);
+    }
+
+
+    private boolean regionMatches(int offset, CharSequence other) {
+        int otherLength =
+                other.length();
+
+        if (offset < 0 || offset + otherLength > length()) {
+            return false;
+        }
+
+        if (other instanceof CompactWord) {
+            CompactWord otherWord = (CompactWord) other;
+
+            if (!utf16 && !otherWord.utf16) {
+                for (int i = 0; i < otherLength; i++) {
+                    if (value[offset + i] != otherWord.value[i]) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+        }
+
+        for (int i = 0; i < otherLength; i++) {
+            if (charAt(offset + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Creates a word made of the first chars of this word followed by the given suffix.
+     *
+     * @param stemLength The number of chars to keep
+     * @param newSuffix  The suffix to append to the kept chars
+     * @return The new word
+     */
+    public CompactWord replaceSuffix(int stemLength, CharSequence newSuffix) {
+        if (stemLength < 0 || stemLength > length()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Invalid stem length %d for length %d", stemLength, length())
+            );
+        }
+
+        int suffixLength =
+                newSuffix.length();
+
+        int resultLength =
+                stemLength + suffixLength;
+
+        if (!utf16) {
+            byte[] resultBytes =
+                    Arrays.copyOf(value, resultLength);
+
+            boolean suffixIsLatin1 = true;
+
+            for (int i = 0; i < suffixLength; i++) {
+                char c = newSuffix.charAt(i);
+
+                if (c > LATIN1_LIMIT) {
+                    suffixIsLatin1 = false;
+                    break;
+                }
+
+                resultBytes[stemLength + i] = (byte) c;
+            }
+
+            if (suffixIsLatin1) {
+                return resultLength == 0 ?
+                        EMPTY
+                        :
+                        new CompactWord(resultBytes, false);
+            }
+        }
+
+        return of(
+                new WordBuffer(resultLength)
+                        .append(this, 0, stemLength)
+                        .append(newSuffix)
+        );
+    }
+
+
+    /**
+     * Creates a word identical to this one, except for the char at the given index.
+     *
+     * @param index       The index of the char to replace
+     * @param replacement The new char
+     * @return The new word
+     */
+    public CompactWord withCharAt(int index, char replacement) {
+        if (charAt(index) == replacement) {
+            return this;
+        }
+
+        if (!utf16 && replacement <= LATIN1_LIMIT) {
+            byte[] resultBytes =
+                    value.clone();
+
+            resultBytes[index] = (byte) replacement;
+
+            return new CompactWord(resultBytes, false);
+        }
+
+        WordBuffer buffer =
+                new WordBuffer(this);
+
+        buffer.replaceAt(index, replacement);
+
+        return of(buffer);
+    }
+
+
+    @Override
+    public int compareTo(CompactWord other) {
+        int commonLength =
+                Math.min(length(), other.length());
+
+        for (int i = 0; i < commonLength; i++) {
+            char thisChar = charAt(i);
+            char otherChar = other.charAt(i);
+
+            if (thisChar != otherChar) {
+                return thisChar - otherChar;
+            }
+        }
+
+        return length() - other.length();
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompactWord)) return false;
+        CompactWord that = (CompactWord) o;
+
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
+
+        return utf16 == that.utf16 &&
+                Arrays.equals(value, that.value);
+    }
+
+
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+
+        if (result == 0 && value.length > 0) {
+            int length = length();
+
+            for (int i = 0; i < length; i++) {
+                result = 31 * result + charAt(i);
+            }
+
+            hashCode = result;
+        }
+
+        return result;
+    }
+
+
+    @Override
+    public String toString() {
+        if (!utf16) {
+            return new String(value, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars =
+                new char[length()];
+
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = getUtf16(value, i);
+        }
+
+        return new String(chars);
+    }
+}
@@ -24,22 +24,36 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public interface Conversions {
+    static IntStream stringToCharStream(CharSequence source) {
+        return source.chars();
+    }
+
+
+    static String charStreamToString(IntStream sourceStream) {
+        return sourceStream
+                .collect(
+                        WordBuffer::new,
+                        (wordBuffer, charCode) -> wordBuffer.append((char) charCode),
+                        WordBuffer::append
+                )
+                .toString();
+    }
+
+
     static Stream<Character> stringToStream(String sourceString) {
-        return sourceString
-                .chars()
+        return stringToCharStream(sourceString)
                 .mapToObj(charCode -> (char) charCode);
     }
 
 
     static String streamToString(Stream<Character> sourceStream) {
-        StringBuilder result = new StringBuilder();
-
-        sourceStream.forEach(result::append);
-
-        return result.toString();
+        return charStreamToString(
+                sourceStream.mapToInt(c -> c)
+        );
     }
 
 
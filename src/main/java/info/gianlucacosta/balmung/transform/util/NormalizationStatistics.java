@@ -0,0 +1,92 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import java.util.Objects;
+
+public class NormalizationStatistics {
+    private final long fastPathCount;
+    private final long slowPathCount;
+    private final long changedCount;
+
+
+    public NormalizationStatistics(long fastPathCount, long slowPathCount, long changedCount) {
+        this.fastPathCount = fastPathCount;
+        this.slowPathCount = slowPathCount;
+        this.changedCount = changedCount;
+    }
+
+
+    public long getFastPathCount() {
+        return fastPathCount;
+    }
+
+    public long getSlowPathCount() {
+        return slowPathCount;
+    }
+
+    /**
+     * @return The number of words, among the ones taking the slow path, actually altered by NFC
+     */
+    public long getChangedCount() {
+        return changedCount;
+    }
+
+    public long getRequestCount() {
+        return fastPathCount + slowPathCount;
+    }
+
+    public double getSlowPathRate() {
+        long requestCount = getRequestCount();
+
+        return (requestCount == 0) ?
+                0.0
+                :
+                (double) slowPathCount / requestCount;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NormalizationStatistics)) return false;
+        NormalizationStatistics that = (NormalizationStatistics) o;
+        return fastPathCount == that.fastPathCount &&
+                slowPathCount == that.slowPathCount &&
+                changedCount == that.changedCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fastPathCount, slowPathCount, changedCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "NormalizationStatistics{fastPath=%d, slowPath=%d, changed=%d, slowPathRate=%.3f}",
+                fastPathCount,
+                slowPathCount,
+                changedCount,
+                getSlowPathRate()
+        );
+    }
+}
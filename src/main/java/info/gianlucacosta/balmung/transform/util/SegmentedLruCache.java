@@ -0,0 +1,344 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Bounded, thread-safe segmented LRU (SLRU) cache.
+ * <p>
+ * New entries enter a <i>probation</i> segment, and are promoted to a <i>protected</i> segment
+ * - taking 80% of the max weight - when requested again; entries falling off the protected
+ * segment go back to probation, and evictions always start from probation. Therefore, a burst
+ * of keys requested only once cannot flush the frequently-requested ones.
+ * <p>
+ * Each entry has a weight - by default 1, so that the max weight is the max number of entries;
+ * entries heavier than a stripe's max weight are returned but not cached.
+ * <p>
+ * Keys are spread across independent stripes - each being a small SLRU with its own lock,
+ * so there is no global lock. Values are computed outside the locks, and failed computations are not cached.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class SegmentedLruCache<K, V> {
+    private static final int DEFAULT_STRIPES_COUNT = 16;
+
+
+    private final Stripe<K, V>[] stripes;
+    private final int stripeMask;
+    private final long maxWeight;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+
+    public SegmentedLruCache(long maxSize) {
+        this(maxSize, DEFAULT_STRIPES_COUNT);
+    }
+
+
+    public SegmentedLruCache(long maxSize, int stripesCount) {
+        this(maxSize, stripesCount, (key, value) -> 1);
+    }
+
+
+    /**
+     * @param maxWeight    The max total weight of the cached entries
+     * @param stripesCount The number of independently-locked stripes - a power of 2
+     * @param weigher      Returns the non-negative weight of each entry
+     */
+    public SegmentedLruCache(long maxWeight, int stripesCount, ToLongBiFunction<? super K, ? super V> weigher) {
+        Objects.requireNonNull(weigher);
+
+        if (stripesCount < 1 || Integer.bitCount(stripesCount) != 1) {
+            throw new IllegalArgumentException(
+                    String.format("The stripes count must be a power of 2, not %d", stripesCount)
+            );
+        }
+
+        if (maxWeight < stripesCount) {
+            throw new IllegalArgumentException(
+                    String.format("The max weight (%d) must not be less than the stripes count (%d)", maxWeight, stripesCount)
+            );
+        }
+
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.stripeMask = stripesCount - 1;
+        this.stripes = createStripesArray(stripesCount);
+
+        for (int i = 0; i < stripesCount; i++) {
+            long stripeMaxWeight =
+                    maxWeight / stripesCount + ((i < maxWeight % stripesCount) ? 1 : 0);
+
+            stripes[i] = new Stripe<>(stripeMaxWeight, evictionCount);
+        }
+    }
+
+
+    public V get(K key, Function<? super K, ? extends V> valueLoader) {
+        Objects.requireNonNull(key);
+
+        Stripe<K, V> stripe =
+                getStripe(key);
+
+        V value;
+
+        synchronized (stripe) {
+            value = stripe.get(key);
+        }
+
+        if (value != null) {
+            hitCount.increment();
+            return value;
+        }
+
+        missCount.increment();
+
+        V loadedValue =
+                Objects.requireNonNull(valueLoader.apply(key));
+
+        long weight =
+                weigher.applyAsLong(key, loadedValue);
+
+        if (weight < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The weight must not be negative, not %d", weight)
+            );
+        }
+
+        synchronized (stripe) {
+            V concurrentValue =
+                    stripe.get(key);
+
+            if (concurrentValue != null) {
+                return concurrentValue;
+            }
+
+            stripe.put(key, loadedValue, weight);
+
+            return loadedValue;
+        }
+    }
+
+
+    private Stripe<K, V> getStripe(K key) {
+        int hash = key.hashCode();
+
+        //Spreads the higher bits, as stripes are selected by the lower ones
+        hash ^= (hash >>> 16);
+
+        return stripes[hash & stripeMask];
+    }
+
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+
+    public long size() {
+        long size = 0;
+
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+
+        return size;
+    }
+
+
+    public long getWeight() {
+        long weight = 0;
+
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                weight += stripe.getWeight();
+            }
+        }
+
+        return weight;
+    }
+
+
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(
+                hitCount.sum(),
+                missCount.sum(),
+                evictionCount.sum()
+        );
+    }
+
+
+    /**
+     * Generic arrays cannot be instantiated: the cast is safe because
+     * the array is private and only ever receives Stripe<K, V> instances.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Stripe<K, V>[] createStripesArray(int stripesCount) {
+        return (Stripe<K, V>[]) new Stripe<?, ?>[stripesCount];
+    }
+
+
+    private static class WeightedValue<V> {
+        final V value;
+        final long weight;
+
+
+        WeightedValue(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+
+    /**
+     * SLRU over a subset of the keys - not thread-safe: the cache locks it.
+     * Both segments are access-ordered maps, whose first entry is the least recently used.
+     */
+    private static class Stripe<K, V> {
+        private final long maxWeight;
+        private final long protectedMaxWeight;
+        private final LongAdder evictionCount;
+
+        private final LinkedHashMap<K, WeightedValue<V>> probation =
+                new LinkedHashMap<>(16, 0.75f, true);
+
+        private final LinkedHashMap<K, WeightedValue<V>> protectedSegment =
+                new LinkedHashMap<>(16, 0.75f, true);
+
+        private long probationWeight;
+        private long protectedWeight;
+
+
+        Stripe(long maxWeight, LongAdder evictionCount) {
+            this.maxWeight = maxWeight;
+            this.protectedMaxWeight = maxWeight - maxWeight / 5;
+            this.evictionCount = evictionCount;
+        }
+
+
+        V get(K key) {
+            WeightedValue<V> protectedEntry =
+                    protectedSegment.get(key);
+
+            if (protectedEntry != null) {
+                return protectedEntry.value;
+            }
+
+            WeightedValue<V> probationEntry =
+                    probation.remove(key);
+
+            if (probationEntry == null) {
+                return null;
+            }
+
+            probationWeight -= probationEntry.weight;
+
+            protectedSegment.put(key, probationEntry);
+            protectedWeight += probationEntry.weight;
+
+            while (protectedWeight > protectedMaxWeight) {
+                Map.Entry<K, WeightedValue<V>> demotedEntry =
+                        removeEldest(protectedSegment);
+
+                protectedWeight -= demotedEntry.getValue().weight;
+
+                probation.put(demotedEntry.getKey(), demotedEntry.getValue());
+                probationWeight += demotedEntry.getValue().weight;
+            }
+
+            return probationEntry.value;
+        }
+
+
+        void put(K key, V value, long weight) {
+            if (weight > maxWeight) {
+                return;
+            }
+
+            probation.put(key, new WeightedValue<>(value, weight));
+            probationWeight += weight;
+
+            while (probationWeight + protectedWeight > maxWeight) {
+                if (!probation.isEmpty()) {
+                    probationWeight -= removeEldest(probation).getValue().weight;
+                } else {
+                    protectedWeight -= removeEldest(protectedSegment).getValue().weight;
+                }
+
+                evictionCount.increment();
+            }
+        }
+
+
+        private static <K, V> Map.Entry<K, WeightedValue<V>> removeEldest(Map<K, WeightedValue<V>> segment) {
+            Iterator<Map.Entry<K, WeightedValue<V>>> iterator =
+                    segment.entrySet().iterator();
+
+            Map.Entry<K, WeightedValue<V>> eldestEntry =
+                    new AbstractMap.SimpleImmutableEntry<>(iterator.next());
+
+            iterator.remove();
+
+            return eldestEntry;
+        }
+
+
+        int size() {
+            return probation.size() + protectedSegment.size();
+        }
+
+
+        long getWeight() {
+            return probationWeight + protectedWeight;
+        }
+
+
+        void clear() {
+            probation.clear();
+            protectedSegment.clear();
+            probationWeight = 0;
+            protectedWeight = 0;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+/**
+ * Bulk scans over char ranges, reading the classification table directly.
+ */
+final class VowelScanner {
+    private static final int MASK_LENGTH = Long.SIZE;
+
+
+    static int lastIndexOf(char[] chars, int fromIndex, int toIndex, int mask) {
+        checkRange(chars.length, fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            char c = chars[i];
+
+            if (c < CharClass.TABLE_LIMIT && (flags[c] & mask) != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    static int lastIndexOf(CharSequence chars, int fromIndex, int toIndex, int mask) {
+        checkRange(chars.length(), fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            char c = chars.charAt(i);
+
+            if (c < CharClass.TABLE_LIMIT && (flags[c] & mask) != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    static int indexOf(char[] chars, int fromIndex, int toIndex, int mask) {
+        checkRange(chars.length, fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            char c = chars[i];
+
+            if (c < CharClass.TABLE_LIMIT && (flags[c] & mask) != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    static int indexOf(CharSequence chars, int fromIndex, int toIndex, int mask) {
+        checkRange(chars.length(), fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            char c = chars.charAt(i);
+
+            if (c < CharClass.TABLE_LIMIT && (flags[c] & mask) != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    static int count(char[] chars, int fromIndex, int toIndex, int mask) {
+        checkRange(chars.length, fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        int count = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            char c = chars[i];
+
+            if (c < CharClass.TABLE_LIMIT) {
+                //Flags are below 256, so this is 1 for matching chars and 0 otherwise - without branching
+                count += ((flags[c] & mask) + 0xFF) >>> 8;
+            }
+        }
+
+        return count;
+    }
+
+
+    static int count(CharSequence chars, int fromIndex, int toIndex, int mask) {
+        checkRange(chars.length(), fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        int count = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            char c = chars.charAt(i);
+
+            if (c < CharClass.TABLE_LIMIT && (flags[c] & mask) != 0) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    static long mask(char[] chars, int fromIndex, int mask) {
+        int toIndex = Math.min(chars.length, fromIndex + MASK_LENGTH);
+
+        checkRange(chars.length, fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        long result = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            char c = chars[i];
+
+            if (c < CharClass.TABLE_LIMIT && (flags[c] & mask) != 0) {
+                result |= 1L << (i - fromIndex);
+            }
+        }
+
+        return result;
+    }
+
+
+    static long mask(CharSequence chars, int fromIndex, int mask) {
+        int toIndex = Math.min(chars.length(), fromIndex + MASK_LENGTH);
+
+        checkRange(chars.length(), fromIndex, toIndex);
+
+        byte[] flags = CharClassTables.FLAGS;
+
+        long result = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            char c = chars.charAt(i);
+
+            if (c < CharClass.TABLE_LIMIT && (flags[c] & mask) != 0) {
+                result |= 1L << (i - fromIndex);
+            }
+        }
+
+        return result;
+    }
+
+
+    private static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > length) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Invalid range [%d, %d) for length %d", fromIndex, toIndex, length)
+            );
+        }
+    }
+
+
+    private VowelScanner() {
+    }
+}
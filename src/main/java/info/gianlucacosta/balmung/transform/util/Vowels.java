@@ -51,123 +51,121 @@ public interface Vowels {
 
 
     static boolean isPlainVowel(char c) {
-        return PLAIN_VOWELS.contains(c);
+        return CharClass.test(c, CharClass.PLAIN_VOWEL);
     }
 
 
     static boolean isUmlautVowel(char c) {
-        return UMLAUT_VOWELS.contains(c);
+        return CharClass.test(c, CharClass.UMLAUT_VOWEL);
     }
 
 
     static boolean isVowel(char c) {
-        return VOWELS.contains(c);
+        return CharClass.test(c, CharClass.VOWEL);
     }
 
 
     static char addUmlaut(char c) {
-        switch (c) {
-            case 'A':
-                return 'Ä';
-
-            case 'a':
-                return 'ä';
-
-            case 'E':
-            case 'I':
-            case 'Ä':
-            case 'Ö':
-            case 'Ü':
-            case 'e':
-            case 'i':
-            case 'ä':
-            case 'ö':
-            case 'ü':
-                return c;
-
-            case 'O':
-                return 'Ö';
-
-            case 'o':
-                return 'ö';
-
-            case 'U':
-                return 'Ü';
-
-            case 'u':
-                return 'ü';
-
-            default:
-                throw new IllegalArgumentException(String.format("'%c' is not a vowel", c));
+        char result =
+                (c < CharClass.TABLE_LIMIT) ?
+                        CharClassTables.ADDED_UMLAUTS[c]
+                        :
+                        0;
+
+        if (result == 0) {
+            throw new IllegalArgumentException(String.format("'%c' is not a vowel", c));
         }
+
+        return result;
     }
 
 
     static char removeUmlaut(char c) {
-        switch (c) {
-            case 'Ä':
-                return 'A';
-
-            case 'ä':
-                return 'a';
-
-            case 'A':
-            case 'E':
-            case 'I':
-            case 'O':
-            case 'U':
-            case 'a':
-            case 'e':
-            case 'i':
-            case 'o':
-            case 'u':
-                return c;
-
-            case 'Ö':
-                return 'O';
-
-            case 'ö':
-                return 'o';
-
-            case 'Ü':
-                return 'U';
-
-            case 'ü':
-                return 'u';
-
-            default:
-                throw new IllegalArgumentException(String.format("'%c' is not a vowel", c));
+        char result =
+                (c < CharClass.TABLE_LIMIT) ?
+                        CharClassTables.REMOVED_UMLAUTS[c]
+                        :
+                        0;
+
+        if (result == 0) {
+            throw new IllegalArgumentException(String.format("'%c' is not a vowel", c));
         }
+
+        return result;
     }
 
 
     static boolean isUmlautAdded(char source, char target) {
-        switch (Character.toLowerCase(source)) {
-            case 'a':
-                return Character.toLowerCase(target) == 'ä';
-            case 'o':
-                return Character.toLowerCase(target) == 'ö';
-            case 'u':
-                return Character.toLowerCase(target) == 'ü';
-
-            default:
-                return false;
-        }
+        return CharClass.test(source, CharClass.UMLAUTABLE) &&
+                CharClass.test(target, CharClass.UMLAUT_VOWEL) &&
+                CharClassTables.UMLAUT_BASES[source] == CharClassTables.UMLAUT_BASES[target];
     }
 
 
     static boolean canReceiveUmlaut(char c) {
-        switch (c) {
-            case 'A':
-            case 'a':
-            case 'O':
-            case 'o':
-            case 'U':
-            case 'u':
-                return true;
-
-            default:
-                return false;
-        }
+        return CharClass.test(c, CharClass.UMLAUTABLE);
+    }
+
+
+    /**
+     * Finds the last vowel receiving umlaut within a range.
+     *
+     * @param chars     The chars to scan
+     * @param fromIndex The start of the range (inclusive)
+     * @param toIndex   The end of the range (exclusive)
+     * @return The index of the vowel, or -1 if missing
+     */
+    static int lastIndexOfUmlautable(char[] chars, int fromIndex, int toIndex) {
+        return VowelScanner.lastIndexOf(chars, fromIndex, toIndex, CharClass.UMLAUTABLE);
+    }
+
+
+    static int lastIndexOfUmlautable(CharSequence chars, int fromIndex, int toIndex) {
+        return VowelScanner.lastIndexOf(chars, fromIndex, toIndex, CharClass.UMLAUTABLE);
+    }
+
+
+    /**
+     * Finds the first vowel - with or without umlaut - within a range.
+     *
+     * @param chars     The chars to scan
+     * @param fromIndex The start of the range (inclusive)
+     * @param toIndex   The end of the range (exclusive)
+     * @return The index of the vowel, or -1 if missing
+     */
+    static int indexOfVowel(char[] chars, int fromIndex, int toIndex) {
+        return VowelScanner.indexOf(chars, fromIndex, toIndex, CharClass.VOWEL);
+    }
+
+
+    static int indexOfVowel(CharSequence chars, int fromIndex, int toIndex) {
+        return VowelScanner.indexOf(chars, fromIndex, toIndex, CharClass.VOWEL);
+    }
+
+
+    static int countVowels(char[] chars, int fromIndex, int toIndex) {
+        return VowelScanner.count(chars, fromIndex, toIndex, CharClass.VOWEL);
+    }
+
+
+    static int countVowels(CharSequence chars, int fromIndex, int toIndex) {
+        return VowelScanner.count(chars, fromIndex, toIndex, CharClass.VOWEL);
+    }
+
+
+    /**
+     * Maps the vowels in a window of up to 64 chars to a bit mask.
+     *
+     * @param chars     The chars to scan
+     * @param fromIndex The start of the window
+     * @return A mask whose i-th bit is set if the char at (fromIndex + i) is a vowel
+     */
+    static long vowelMask(char[] chars, int fromIndex) {
+        return VowelScanner.mask(chars, fromIndex, CharClass.VOWEL);
+    }
+
+
+    static long vowelMask(CharSequence chars, int fromIndex) {
+        return VowelScanner.mask(chars, fromIndex, CharClass.VOWEL);
     }
 }
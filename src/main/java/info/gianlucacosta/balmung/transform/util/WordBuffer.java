@@ -0,0 +1,245 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable, mutable sequence of chars, optimized for suffix manipulation.
+ * <p>
+ * Unlike StringBuilder, it exposes suffix-oriented operations and never boxes chars.
+ * It is not thread-safe.
+ */
+public class WordBuffer implements CharSequence, Appendable {
+    private static final int DEFAULT_CAPACITY = 32;
+
+
+    private char[] chars;
+    private int length;
+
+
+    public WordBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    public WordBuffer(int capacity) {
+        this.chars = new char[capacity];
+    }
+
+
+    public WordBuffer(CharSequence content) {
+        this(content.length() + DEFAULT_CAPACITY);
+
+        set(content);
+    }
+
+
+    /**
+     * Replaces the whole content of the buffer.
+     *
+     * @param content The new content
+     * @return This buffer
+     */
+    public WordBuffer set(CharSequence content) {
+        length = 0;
+
+        return append(content);
+    }
+
+
+    public void clear() {
+        length = 0;
+    }
+
+
+    public void setLength(int newLength) {
+        if (newLength < 0 || newLength > length) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Cannot set length %d on a buffer of length %d", newLength, length)
+            );
+        }
+
+        length = newLength;
+    }
+
+
+    public boolean endsWith(CharSequence suffix) {
+        int suffixLength = suffix.length();
+
+        if (suffixLength > length) {
+            return false;
+        }
+
+        int suffixStart = length - suffixLength;
+
+        for (int i = 0; i < suffixLength; i++) {
+            if (chars[suffixStart + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Removes the given suffix, if the buffer ends with it.
+     *
+     * @param suffix The suffix to remove
+     * @return true if the suffix was removed, false if the buffer does not end with it
+     */
+    public boolean removeSuffix(CharSequence suffix) {
+        if (!endsWith(suffix)) {
+            return false;
+        }
+
+        length -= suffix.length();
+
+        return true;
+    }
+
+
+    public WordBuffer appendSuffix(CharSequence suffix) {
+        return append(suffix);
+    }
+
+
+    public void replaceAt(int index, char c) {
+        checkIndex(index);
+
+        chars[index] = c;
+    }
+
+
+    /**
+     * Finds the last vowel receiving umlaut before the given index.
+     *
+     * @param toIndex The end of the scanned range (exclusive)
+     * @return The index of the vowel, or -1 if missing
+     */
+    public int lastIndexOfUmlautable(int toIndex) {
+        if (toIndex > length) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is beyond the buffer length %d", toIndex, length)
+            );
+        }
+
+        return Vowels.lastIndexOfUmlautable(chars, 0, toIndex);
+    }
+
+
+    @Override
+    public WordBuffer append(CharSequence sequence) {
+        return append(sequence, 0, sequence.length());
+    }
+
+
+    @Override
+    public WordBuffer append(CharSequence sequence, int start, int end) {
+        int sequenceLength = sequence.length();
+
+        if (start < 0 || start > end || end > sequenceLength) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d) is not within the sequence length %d", start, end, sequenceLength)
+            );
+        }
+
+        int appendedLength = end - start;
+
+        ensureCapacity(length + appendedLength);
+
+        if (sequence instanceof String) {
+            ((String) sequence).getChars(start, end, chars, length);
+        } else if (sequence instanceof WordBuffer) {
+            System.arraycopy(((WordBuffer) sequence).chars, start, chars, length, appendedLength);
+        } else {
+            for (int i = start; i < end; i++) {
+                chars[length + i - start] = sequence.charAt(i);
+            }
+        }
+
+        length += appendedLength;
+
+        return this;
+    }
+
+
+    @Override
+    public WordBuffer append(char c) {
+        ensureCapacity(length + 1);
+
+        chars[length++] = c;
+
+        return this;
+    }
+
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity > chars.length) {
+            chars = Arrays.copyOf(
+                    chars,
+                    Math.max(requiredCapacity, 2 * chars.length)
+            );
+        }
+    }
+
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of the buffer length %d", index, length)
+            );
+        }
+    }
+
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+
+    @Override
+    public char charAt(int index) {
+        checkIndex(index);
+
+        return chars[index];
+    }
+
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Invalid range [%d, %d) for length %d", start, end, length)
+            );
+        }
+
+        return new String(chars, start, end - start);
+    }
+
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
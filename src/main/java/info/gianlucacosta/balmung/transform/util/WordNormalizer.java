@@ -0,0 +1,115 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import java.text.Normalizer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Converts words to Unicode NFC, so that decomposed umlauts - such as "a" followed by
+ * U+0308 - match their precomposed form.
+ * <p>
+ * Words made only of chars below U+0200 - ASCII, Latin-1 and most Latin Extended letters -
+ * are always in NFC, so they are detected by a single scan and returned as they are;
+ * only the other words go through java.text.Normalizer.
+ * <p>
+ * It is thread-safe.
+ */
+public class WordNormalizer {
+    /**
+     * Every char in [0, 0x200) has NFC quick check "Yes" and combining class 0 - even when,
+     * like 'é', it has a canonical decomposition - so words made only of them are in NFC.
+     * The bits above it are OR-ed over the whole word, so the scan has no branches.
+     */
+    private static final int SLOW_PATH_MASK = ~0x1FF;
+
+
+    private final LongAdder fastPathCount = new LongAdder();
+    private final LongAdder slowPathCount = new LongAdder();
+    private final LongAdder changedCount = new LongAdder();
+
+
+    /**
+     * Tells whether the word is certainly in NFC, without calling the full normalizer.
+     *
+     * @param word The word to check
+     * @return true if the word only contains chars in the fast-path range
+     */
+    public static boolean isFastPath(CharSequence word) {
+        int accumulator = 0;
+
+        if (word instanceof String) {
+            String string = (String) word;
+
+            for (int i = 0; i < string.length(); i++) {
+                accumulator |= string.charAt(i);
+            }
+        } else {
+            for (int i = 0; i < word.length(); i++) {
+                accumulator |= word.charAt(i);
+            }
+        }
+
+        return (accumulator & SLOW_PATH_MASK) == 0;
+    }
+
+
+    /**
+     * Normalizes the given word to NFC.
+     *
+     * @param word The word to normalize
+     * @return The very same instance if it was already normalized, a new string otherwise
+     */
+    public String normalize(String word) {
+        if (isFastPath(word)) {
+            fastPathCount.increment();
+            return word;
+        }
+
+        slowPathCount.increment();
+
+        String normalizedWord =
+                Normalizer.normalize(word, Normalizer.Form.NFC);
+
+        if (normalizedWord.equals(word)) {
+            return word;
+        }
+
+        changedCount.increment();
+        return normalizedWord;
+    }
+
+
+    public NormalizationStatistics getStatistics() {
+        return new NormalizationStatistics(
+                fastPathCount.sum(),
+                slowPathCount.sum(),
+                changedCount.sum()
+        );
+    }
+
+
+    public void resetStatistics() {
+        fastPathCount.reset();
+        slowPathCount.reset();
+        changedCount.reset();
+    }
+}
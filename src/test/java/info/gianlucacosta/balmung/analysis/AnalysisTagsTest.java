@@ -0,0 +1,76 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.AdjectiveForm;
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.lexicon.VerbForm;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class AnalysisTagsTest {
+    @Test
+    public void nounTagsShouldRoundTrip() {
+        for (Numerus numerus : Numerus.values()) {
+            for (Kasus kasus : Kasus.values()) {
+                int tag =
+                        AnalysisTags.packNoun(AnalysisTags.MAX_LEMMA_ORDINAL, false, numerus, kasus);
+
+                assertThat(AnalysisTags.getLemmaOrdinal(tag), equalTo(AnalysisTags.MAX_LEMMA_ORDINAL));
+                assertThat(AnalysisTags.getPartOfSpeech(tag), equalTo(PartOfSpeech.NOUN));
+                assertThat(AnalysisTags.isMainDeclension(tag), equalTo(false));
+                assertThat(AnalysisTags.getNumerus(tag), equalTo(numerus));
+                assertThat(AnalysisTags.getKasus(tag), equalTo(kasus));
+            }
+        }
+    }
+
+
+    @Test
+    public void verbAndAdjectiveTagsShouldRoundTrip() {
+        int verbTag = AnalysisTags.packVerb(42, VerbForm.PARTIZIP_PERFEKT);
+
+        assertThat(AnalysisTags.getPartOfSpeech(verbTag), equalTo(PartOfSpeech.VERB));
+        assertThat(AnalysisTags.getVerbFormOrNull(verbTag), equalTo(VerbForm.PARTIZIP_PERFEKT));
+        assertThat(AnalysisTags.isBaseForm(verbTag), equalTo(false));
+
+        int adjectiveTag = AnalysisTags.pack(7, PartOfSpeech.ADJECTIVE, AnalysisTags.BASE_FORM_CODE);
+
+        assertThat(AnalysisTags.getLemmaOrdinal(adjectiveTag), equalTo(7));
+        assertThat(AnalysisTags.getAdjectiveFormOrNull(adjectiveTag), nullValue());
+        assertThat(AnalysisTags.isBaseForm(adjectiveTag), equalTo(true));
+
+        assertThat(
+                AnalysisTags.getAdjectiveFormOrNull(AnalysisTags.packAdjective(7, AdjectiveForm.SUPERLATIVE)),
+                equalTo(AdjectiveForm.SUPERLATIVE)
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooLargeLemmaOrdinalsShouldBeRejected() {
+        AnalysisTags.packVerb(AnalysisTags.MAX_LEMMA_ORDINAL + 1, VerbForm.PRAESENS);
+    }
+}
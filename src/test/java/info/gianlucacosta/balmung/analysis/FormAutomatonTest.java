@@ -0,0 +1,99 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class FormAutomatonTest {
+    private final List<String> words = Arrays.asList(
+            "", "Kind", "Kinder", "Kindern", "Rind", "Rinder", "Rindern", "gehen", "ging", "Äpfel"
+    );
+
+    private final List<String> sortedWords = new ArrayList<>(words);
+
+    {
+        Collections.sort(sortedWords);
+    }
+
+    private final FormAutomaton automaton = FormAutomaton.build(sortedWords);
+
+
+    @Test
+    public void wordsShouldBeMappedToTheirRank() {
+        for (int i = 0; i < sortedWords.size(); i++) {
+            assertThat(automaton.indexOf(sortedWords.get(i)), equalTo(i));
+        }
+
+        assertThat(automaton.size(), equalTo(sortedWords.size()));
+    }
+
+
+    @Test
+    public void ranksShouldBeMappedToTheirWord() {
+        for (int i = 0; i < sortedWords.size(); i++) {
+            assertThat(automaton.getWord(i), equalTo(sortedWords.get(i)));
+        }
+    }
+
+
+    @Test
+    public void unknownWordsShouldNotBeRecognized() {
+        assertThat(automaton.indexOf("Kin"), equalTo(-1));
+        assertThat(automaton.indexOf("Kinderns"), equalTo(-1));
+        assertThat(automaton.contains("Hund"), equalTo(false));
+        assertThat(automaton.contains(new StringBuilder("Rinder")), equalTo(true));
+    }
+
+
+    @Test
+    public void commonSuffixesShouldBeShared() {
+        FormAutomaton suffixAutomaton =
+                FormAutomaton.build(Arrays.asList("Kind", "Kinder", "Rind", "Rinder"));
+
+        assertThat(suffixAutomaton.getStateCount(), equalTo(7));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsortedWordsShouldBeRejected() {
+        FormAutomaton.build(Arrays.asList("Rind", "Kind"));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateWordsShouldBeRejected() {
+        FormAutomaton.build(Arrays.asList("Kind", "Kind"));
+    }
+
+
+    @Test
+    public void emptyAutomataShouldWork() {
+        FormAutomaton emptyAutomaton = FormAutomaton.build(Collections.emptyList());
+
+        assertThat(emptyAutomaton.size(), equalTo(0));
+        assertThat(emptyAutomaton.indexOf(""), equalTo(-1));
+    }
+}
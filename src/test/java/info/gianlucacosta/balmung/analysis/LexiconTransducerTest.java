@@ -0,0 +1,145 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LexiconTransducerTest {
+    private final Noun kind = new Noun(
+            "Kind",
+            Collections.singleton("Familie"),
+            NounDeclension.createOption(
+                    "Kind", "Kind", "Kind", "Kindes",
+                    "Kinder", "Kinder", "Kindern", "Kinder"
+            ).get()
+    );
+
+    private final Noun rind = new Noun(
+            "Rind",
+            Collections.singleton("Tier"),
+            Collections.emptyList(),
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Optional.of(Genus.NEUTRAL),
+            NounDeclension.createOption(
+                    "Rind", "Rind", "Rind", "Rindes",
+                    "Rinder", "Rinder", "Rindern", "Rinder"
+            ).get(),
+            NounDeclension.createOption(
+                    null, null, "Rinde", "Rinds",
+                    null, null, null, null
+            )
+    );
+
+    private final Verb gehen = new Verb(
+            "gehen",
+            Collections.singleton("Bewegung"),
+            Collections.emptyList(),
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Optional.of("geht"),
+            Optional.of("ging"),
+            Optional.of("gegangen"),
+            Optional.of("geh")
+    );
+
+    private final Lexicon lexicon =
+            new Lexicon(Arrays.asList(kind, rind, gehen));
+
+    private final LexiconTransducer transducer =
+            LexiconTransducer.compile(lexicon);
+
+
+    @Test
+    public void analysesShouldMatchTheHashBasedAnalyzer() {
+        MorphologicalAnalyzer analyzer =
+                new MorphologicalAnalyzer(lexicon);
+
+        for (String form : Arrays.asList("Kind", "Kinder", "Kindern", "Kindes", "Rinde", "Rinds", "gehen", "geh", "Hund")) {
+            assertThat(form, transducer.analyze(form), equalTo(analyzer.analyze(form)));
+        }
+
+        assertThat(transducer.getFormCount(), equalTo(analyzer.getFormCount()));
+        assertThat(transducer.getAnalysisCount(), equalTo(analyzer.getAnalysisCount()));
+    }
+
+
+    @Test
+    public void nounFormsShouldBeGenerated() {
+        assertThat(
+                transducer.generate(AnalysisTags.packNoun(1, true, Numerus.PLURAL, Kasus.DATIV)),
+                equalTo(Optional.of("Rindern"))
+        );
+
+        assertThat(
+                transducer.generate(AnalysisTags.packNoun(1, false, Numerus.SINGULAR, Kasus.GENITIV)),
+                equalTo(Optional.of("Rinds"))
+        );
+
+        assertThat(
+                transducer.generate(AnalysisTags.packNoun(0, false, Numerus.SINGULAR, Kasus.GENITIV)),
+                equalTo(Optional.empty())
+        );
+    }
+
+
+    @Test
+    public void verbFormsShouldBeGenerated() {
+        assertThat(
+                transducer.generate(AnalysisTags.packVerb(2, VerbForm.PARTIZIP_PERFEKT)),
+                equalTo(Optional.of("gegangen"))
+        );
+
+        assertThat(
+                transducer.generate(AnalysisTags.pack(2, PartOfSpeech.VERB, AnalysisTags.BASE_FORM_CODE)),
+                equalTo(Optional.of("gehen"))
+        );
+    }
+
+
+    @Test
+    public void everyAnalysisShouldGenerateItsForm() {
+        for (String form : Arrays.asList("Kinder", "Rinde", "ging")) {
+            transducer.forEachAnalysis(form, tag ->
+                    assertThat(transducer.generate(tag), equalTo(Optional.of(form)))
+            );
+        }
+    }
+
+
+    @Test
+    public void analyzingIntoArraysShouldNotExceedTheirCapacity() {
+        int[] target = new int[2];
+
+        assertThat(transducer.analyze("Kinder", target), equalTo(3));
+        assertThat(transducer.getAnalysisCount("Kinder"), equalTo(3));
+    }
+}
@@ -0,0 +1,146 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.analysis;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import info.gianlucacosta.balmung.transform.util.CompactWord;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.junit.Assert.assertThat;
+
+public class MorphologicalAnalyzerTest {
+    private final Noun kind = new Noun(
+            "Kind",
+            Collections.singleton("Familie"),
+            NounDeclension.createOption(
+                    "Kind", "Kind", "Kind", "Kindes",
+                    "Kinder", "Kinder", "Kindern", "Kinder"
+            ).get()
+    );
+
+    private final Verb gehen = new Verb(
+            "gehen",
+            Collections.singleton("Bewegung"),
+            Collections.emptyList(),
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Optional.of("geht"),
+            Optional.of("ging"),
+            Optional.of("gegangen"),
+            Optional.of("geh")
+    );
+
+    private final Adjective gut = new Adjective(
+            "gut",
+            Collections.singleton("Eigenschaft"),
+            Collections.emptyList(),
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Optional.of("besser"),
+            Optional.of("best")
+    );
+
+    private final MorphologicalAnalyzer analyzer =
+            new MorphologicalAnalyzer(new Lexicon(Arrays.asList(kind, gehen, gut)));
+
+
+    @Test
+    public void uniqueNounFormsShouldHaveOneAnalysis() {
+        int[] analyses = analyzer.analyze("Kindern");
+
+        assertThat(analyses.length, equalTo(1));
+        assertThat(analyzer.getLemma(analyses[0]), equalTo(kind));
+        assertThat(AnalysisTags.getNumerus(analyses[0]), equalTo(Numerus.PLURAL));
+        assertThat(AnalysisTags.getKasus(analyses[0]), equalTo(Kasus.DATIV));
+        assertThat(AnalysisTags.isMainDeclension(analyses[0]), equalTo(true));
+    }
+
+
+    @Test
+    public void syncreticFormsShouldHaveAllTheirAnalyses() {
+        int[] target = new int[8];
+
+        int count = analyzer.analyze("Kinder", target);
+
+        assertThat(count, equalTo(3));
+
+        List<Kasus> kasusList = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            kasusList.add(AnalysisTags.getKasus(target[i]));
+        }
+
+        assertThat(kasusList, hasItems(Kasus.NOMINATIV, Kasus.AKKUSATIV, Kasus.GENITIV));
+    }
+
+
+    @Test
+    public void verbAndAdjectiveFormsShouldBeAnalyzed() {
+        int[] verbAnalyses = analyzer.analyze("gegangen");
+
+        assertThat(verbAnalyses.length, equalTo(1));
+        assertThat(AnalysisTags.getVerbFormOrNull(verbAnalyses[0]), equalTo(VerbForm.PARTIZIP_PERFEKT));
+        assertThat(analyzer.getLemma(verbAnalyses[0]), equalTo(gehen));
+
+        int[] adjectiveAnalyses = analyzer.analyze("gut");
+
+        assertThat(adjectiveAnalyses.length, equalTo(1));
+        assertThat(AnalysisTags.isBaseForm(adjectiveAnalyses[0]), equalTo(true));
+    }
+
+
+    @Test
+    public void shortTargetsShouldReceiveOnlyTheirCapacity() {
+        int[] target = new int[1];
+
+        assertThat(analyzer.analyze("Kind", target), equalTo(3));
+        assertThat(AnalysisTags.getPartOfSpeech(target[0]), equalTo(PartOfSpeech.NOUN));
+    }
+
+
+    @Test
+    public void unknownFormsShouldHaveNoAnalysis() {
+        assertThat(analyzer.getAnalysisCount("Kinds"), equalTo(0));
+        assertThat(analyzer.analyze("Hund").length, equalTo(0));
+    }
+
+
+    @Test
+    public void anyCharSequenceShouldBeAccepted() {
+        assertThat(analyzer.getAnalysisCount(CompactWord.of("Kindes")), equalTo(1));
+        assertThat(analyzer.getAnalysisCount(new StringBuilder("besser")), equalTo(1));
+    }
+
+
+    @Test
+    public void formAndAnalysisCountsShouldWork() {
+        assertThat(analyzer.getFormCount(), equalTo(4 + 5 + 3));
+        assertThat(analyzer.getAnalysisCount(), equalTo(8 + 5 + 3));
+    }
+}
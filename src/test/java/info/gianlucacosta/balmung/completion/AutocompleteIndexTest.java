@@ -0,0 +1,202 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.completion;
+
+import info.gianlucacosta.balmung.lexicon.Lemma;
+import info.gianlucacosta.balmung.lexicon.Lexicon;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class AutocompleteIndexTest {
+    private static List<String> getExpressions(List<Completion> completions) {
+        return completions
+                .stream()
+                .map(Completion::getExpression)
+                .collect(Collectors.toList());
+    }
+
+
+    @Test
+    public void foldingShouldIgnoreCaseAndUmlauts() {
+        assertThat(AutocompleteIndex.fold("ÄrgerÖlÜberStraße"), equalTo("argeroluberstrasse"));
+    }
+
+
+    @Test
+    public void capitalSharpSShouldBeFolded() {
+        AutocompleteIndex index =
+                new AutocompleteIndex();
+
+        index.add("Straße");
+
+        assertThat(AutocompleteIndex.fold("STRA\u1E9EE"), equalTo("strasse"));
+        assertThat(getExpressions(index.complete("STRA\u1E9E")), equalTo(Collections.singletonList("Straße")));
+    }
+
+
+    @Test
+    public void hugeMaxCountsShouldBeSupported() {
+        AutocompleteIndex index =
+                new AutocompleteIndex();
+
+        index.add("Maus", 1);
+        index.add("Mast", 2);
+
+        assertThat(getExpressions(index.complete("m", Integer.MAX_VALUE)), equalTo(Arrays.asList("Mast", "Maus")));
+        assertThat(getExpressions(index.complete("m", 500_000_000)), equalTo(Arrays.asList("Mast", "Maus")));
+    }
+
+
+    @Test
+    public void completionsShouldBeRankedByWeightThenByExpression() {
+        AutocompleteIndex index =
+                new AutocompleteIndex();
+
+        index.add("Haus", 5);
+        index.add("Hund", 9);
+        index.add("Hase", 5);
+        index.add("Katze", 20);
+        index.add("Hü", 1);
+
+        assertThat(
+                getExpressions(index.complete("h")),
+                equalTo(Arrays.asList("Hund", "Hase", "Haus", "Hü"))
+        );
+
+        assertThat(getExpressions(index.complete("HA", 1)), equalTo(Collections.singletonList("Hase")));
+        assertThat(getExpressions(index.complete("hau")), equalTo(Collections.singletonList("Haus")));
+        assertThat(index.complete("haut"), equalTo(Collections.emptyList()));
+        assertThat(index.complete("x"), equalTo(Collections.emptyList()));
+        assertThat(index.size(), equalTo(5));
+    }
+
+
+    @Test
+    public void umlautsShouldBeFoldedInPrefixesAndExpressions() {
+        AutocompleteIndex index =
+                new AutocompleteIndex();
+
+        index.add("Müller", 2);
+        index.add("Mull", 1);
+        index.add("Maß", 3);
+
+        assertThat(getExpressions(index.complete("mu")), equalTo(Arrays.asList("Müller", "Mull")));
+        assertThat(getExpressions(index.complete("MÜLL")), equalTo(Arrays.asList("Müller", "Mull")));
+        assertThat(getExpressions(index.complete("mass")), equalTo(Collections.singletonList("Maß")));
+    }
+
+
+    @Test
+    public void reinsertionShouldOnlyRaiseTheWeight() {
+        AutocompleteIndex index =
+                new AutocompleteIndex();
+
+        index.add("Hund", 3);
+        index.add("Hase", 2);
+        index.add("Hase", 7);
+        index.add("Hund", 1);
+
+        assertThat(
+                index.complete("h"),
+                equalTo(Arrays.asList(new Completion("Hase", 7), new Completion("Hund", 3)))
+        );
+
+        assertThat(index.size(), equalTo(2));
+    }
+
+
+    @Test
+    public void cachedCompletionsShouldMatchAFullScan() {
+        Random random =
+                new Random(90);
+
+        AutocompleteIndex index =
+                new AutocompleteIndex(3);
+
+        Map<String, Long> weights =
+                new HashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            String expression =
+                    IntStream
+                            .range(0, 1 + random.nextInt(6))
+                            .mapToObj(charIndex -> String.valueOf("abcäöü".charAt(random.nextInt(6))))
+                            .collect(Collectors.joining());
+
+            long weight =
+                    random.nextInt(100);
+
+            index.add(expression, weight);
+            weights.merge(expression, weight, Math::max);
+        }
+
+        for (String prefix : Arrays.asList("", "a", "ab", "ou", "caa", "bbb")) {
+            List<Completion> expectedCompletions =
+                    weights
+                            .entrySet()
+                            .stream()
+                            .filter(entry -> AutocompleteIndex.fold(entry.getKey()).startsWith(prefix))
+                            .map(entry -> new Completion(entry.getKey(), entry.getValue()))
+                            .sorted(Completion.RANKING)
+                            .collect(Collectors.toList());
+
+            for (int maxCount : new int[]{1, 3, 5}) {
+                assertThat(
+                        index.complete(prefix, maxCount),
+                        equalTo(expectedCompletions.subList(0, Math.min(maxCount, expectedCompletions.size())))
+                );
+            }
+        }
+
+        assertThat(index.size(), equalTo(weights.size()));
+    }
+
+
+    @Test
+    public void lexiconLemmasShouldBeIndexedByExpression() {
+        Lexicon lexicon =
+                new Lexicon(Arrays.asList(
+                        new Lemma("Hund", Collections.singleton("Tier")),
+                        new Lemma("Hund", Collections.singleton("Bergbau")),
+                        new Lemma("Hündin", Collections.singleton("Tier"))
+                ));
+
+        AutocompleteIndex index =
+                AutocompleteIndex.of(lexicon, lemma -> lemma.getCategories().contains("Tier") ? 1 : 4);
+
+        assertThat(
+                index.complete("hun"),
+                equalTo(Arrays.asList(new Completion("Hund", 4), new Completion("Hündin", 1)))
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeightsShouldBeRejected() {
+        new AutocompleteIndex().add("Hund", -1);
+    }
+}
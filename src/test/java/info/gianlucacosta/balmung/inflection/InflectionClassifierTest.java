@@ -0,0 +1,175 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.inflection;
+
+import info.gianlucacosta.balmung.lexicon.Kasus;
+import info.gianlucacosta.balmung.lexicon.Noun;
+import info.gianlucacosta.balmung.lexicon.NounDeclension;
+import info.gianlucacosta.balmung.lexicon.Numerus;
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransform;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class InflectionClassifierTest {
+    private static Noun createNoun(String... cells) {
+        return new Noun(
+                cells[0],
+                Collections.singleton("Test"),
+                NounDeclension.createOption(
+                        cells[0], cells[1], cells[2], cells[3],
+                        cells[4], cells[5], cells[6], cells[7]
+                ).get()
+        );
+    }
+
+
+    private final Noun buch = createNoun("Buch", "Buch", "Buch", "Buches", "Bücher", "Bücher", "Büchern", "Bücher");
+    private final Noun mann = createNoun("Mann", "Mann", "Mann", "Mannes", "Männer", "Männer", "Männern", "Männer");
+    private final Noun wald = createNoun("Wald", "Wald", "Wald", "Waldes", "Wälder", "Wälder", "Wäldern", "Wälder");
+    private final Noun frau = createNoun("Frau", "Frau", "Frau", "Frau", "Frauen", "Frauen", "Frauen", "Frauen");
+    private final Noun zahl = createNoun("Zahl", "Zahl", "Zahl", "Zahl", "Zahlen", "Zahlen", "Zahlen", "Zahlen");
+    private final Noun kino = createNoun("Kino", "Kino", "Kino", "Kinos", "Kinos", "Kinos", "Kinos", "Kinos");
+
+    private final Noun museum = new Noun(
+            "Museum",
+            Collections.singleton("Test"),
+            NounDeclension.createOption(
+                    "Museum", "Museum", "Museum", "Museums",
+                    "Museen", "Museen", "Museen", "Museen"
+            ).get()
+    );
+
+    private final Noun status = new Noun(
+            "Status",
+            Collections.singleton("Test"),
+            NounDeclension.createOption(
+                    "Status", "Status", "Status", "Status",
+                    "Stati", "", "", ""
+            ).get()
+    );
+
+
+    @Test
+    public void signaturesShouldDescribeEveryCell() {
+        DeclensionSignature signature =
+                new InflectionClassifier().computeSignature(buch).get();
+
+        assertThat(
+                signature.getCellTransform(true, Numerus.PLURAL, Kasus.DATIV),
+                equalTo(Optional.of(new SuffixTransform("", true, "ern")))
+        );
+
+        assertThat(
+                signature.getCellTransform(false, Numerus.PLURAL, Kasus.DATIV),
+                equalTo(Optional.empty())
+        );
+
+        assertThat(
+                signature.toString(),
+                equalTo("[-, -, -, -es, ⸚er, ⸚er, ⸚ern, ⸚er]")
+        );
+    }
+
+
+    @Test
+    public void signaturesShouldShareCanonicalTransforms() {
+        InflectionClassifier classifier = new InflectionClassifier();
+
+        DeclensionSignature buchSignature = classifier.computeSignature(buch).get();
+        DeclensionSignature mannSignature = classifier.computeSignature(mann).get();
+
+        assertThat(mannSignature, equalTo(buchSignature));
+
+        assertThat(
+                mannSignature.getCellTransform(true, Numerus.PLURAL, Kasus.GENITIV).get(),
+                sameInstance(buchSignature.getCellTransform(true, Numerus.PLURAL, Kasus.GENITIV).get())
+        );
+    }
+
+
+    @Test
+    public void signaturesShouldRegenerateDeclensions() {
+        DeclensionSignature signature =
+                new InflectionClassifier().computeSignature(buch).get();
+
+        assertThat(
+                signature.generateDeclension("Wald", true),
+                equalTo(Optional.of(wald.getDeclension()))
+        );
+
+        assertThat(
+                signature.generateDeclension("Wald", false),
+                equalTo(Optional.empty())
+        );
+    }
+
+
+    @Test
+    public void classificationShouldGroupNounsBySignature() {
+        InflectionClassTable classTable =
+                new InflectionClassifier().classify(Arrays.asList(buch, frau, mann, kino, zahl, wald, museum, status));
+
+        List<InflectionClass> inflectionClasses =
+                classTable.getInflectionClasses();
+
+        assertThat(inflectionClasses.size(), equalTo(4));
+
+        assertThat(inflectionClasses.get(0).getNounCount(), equalTo(3));
+        assertThat(inflectionClasses.get(1).getNounCount(), equalTo(2));
+
+        int buchClassId = classTable.getClassId(buch).getAsInt();
+
+        assertThat(buchClassId, equalTo(0));
+        assertThat(classTable.getClassId(mann).getAsInt(), equalTo(buchClassId));
+        assertThat(classTable.getClassId(wald).getAsInt(), equalTo(buchClassId));
+
+        assertThat(classTable.getClassId(frau).getAsInt(), equalTo(1));
+        assertThat(classTable.getClassId(zahl).getAsInt(), equalTo(1));
+
+        assertThat(classTable.getClassId(kino).getAsInt(), not(equalTo(classTable.getClassId(museum).getAsInt())));
+
+        assertThat(
+                classTable.getInflectionClass(buchClassId).getSignature(),
+                equalTo(new InflectionClassifier().computeSignature(buch).get())
+        );
+    }
+
+
+    @Test
+    public void nounsWithShorterCellsShouldNotBeClassified() {
+        InflectionClassTable classTable =
+                new InflectionClassifier().classify(Arrays.asList(buch, status));
+
+        assertThat(classTable.getClassId(status).isPresent(), is(false));
+
+        assertThat(
+                classTable.getUnclassifiedNouns(),
+                equalTo(Collections.singletonList(status))
+        );
+    }
+}
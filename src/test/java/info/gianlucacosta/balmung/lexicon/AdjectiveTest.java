@@ -0,0 +1,56 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.lexicon;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class AdjectiveTest {
+    @Test
+    public void formOrNullShouldMatchTheGetters() {
+        Adjective adjective = new Adjective(
+                "gut",
+                Collections.singleton("Sample Category"),
+                Collections.emptyList(),
+                Optional.empty(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Optional.of("besser"),
+                Optional.empty()
+        );
+
+        assertThat(adjective.formOrNull(AdjectiveForm.COMPARATIVE), equalTo("besser"));
+        assertThat(adjective.formOrNull(AdjectiveForm.SUPERLATIVE), nullValue());
+        assertThat(adjective.pronunciationOrNull(), nullValue());
+
+        List<AdjectiveForm> visitedForms = new ArrayList<>();
+
+        adjective.forEachForm((form, expression) -> visitedForms.add(form));
+
+        assertThat(visitedForms, equalTo(Collections.singletonList(AdjectiveForm.COMPARATIVE)));
+    }
+}
@@ -0,0 +1,123 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.lexicon;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LexiconTest {
+    private final Noun hund = createNoun("Hund", Genus.MASKULIN, "Tier");
+    private final Noun katze = createNoun("Katze", Genus.FEMININ, "Tier");
+    private final Noun haus = createNoun("Haus", Genus.NEUTRAL, "Gebäude");
+
+    private final Verb laufen = new Verb(
+            "laufen",
+            new HashSet<>(Arrays.asList("Bewegung", "Sport"))
+    );
+
+    private final Adjective schnell = new Adjective(
+            "schnell",
+            Collections.singleton("Bewegung")
+    );
+
+    private final Lexicon lexicon =
+            new Lexicon(Arrays.asList(hund, laufen, katze, schnell, haus));
+
+
+    private static Noun createNoun(String expression, Genus genus, String hypernym) {
+        return new Noun(
+                expression,
+                Collections.singleton("Substantiv"),
+                Collections.emptyList(),
+                Optional.empty(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Collections.singleton(hypernym),
+                Optional.of(genus),
+                NounDeclension.createOption(expression, expression, expression, expression, null, null, null, null).get(),
+                Optional.empty()
+        );
+    }
+
+
+    @Test
+    public void lemmasShouldBeFoundById() {
+        assertThat(
+                lexicon.getLemma("laufen", new HashSet<>(Arrays.asList("Sport", "Bewegung"))),
+                equalTo(Optional.of(laufen))
+        );
+
+        assertThat(
+                lexicon.getLemma("laufen", Collections.singleton("Sport")),
+                equalTo(Optional.empty())
+        );
+    }
+
+
+    @Test
+    public void lemmasShouldBeSplitByType() {
+        assertThat(lexicon.getNouns(), equalTo(Arrays.asList(hund, katze, haus)));
+        assertThat(lexicon.getVerbs(), equalTo(Collections.singletonList(laufen)));
+        assertThat(lexicon.getAdjectives(), equalTo(Collections.singletonList(schnell)));
+        assertThat(lexicon.size(), equalTo(5));
+    }
+
+
+    @Test
+    public void secondaryIndexesShouldKeepTheInputOrder() {
+        assertThat(
+                lexicon.getLemmasByCategory("Bewegung"),
+                equalTo(Arrays.<Lemma>asList(laufen, schnell))
+        );
+
+        assertThat(
+                lexicon.getLemmasByHypernym("Tier"),
+                equalTo(Arrays.<Lemma>asList(hund, katze))
+        );
+
+        assertThat(
+                lexicon.getNounsByGenus(Genus.FEMININ),
+                equalTo(Collections.singletonList(katze))
+        );
+
+        assertThat(
+                lexicon.getLemmasByExpression("Haus"),
+                equalTo(Collections.<Lemma>singletonList(haus))
+        );
+    }
+
+
+    @Test
+    public void missingKeysShouldReturnEmptyLists() {
+        assertThat(lexicon.getLemmasByCategory("Farbe"), equalTo(Collections.emptyList()));
+        assertThat(new Lexicon(Collections.emptyList()).getNounsByGenus(Genus.MASKULIN), equalTo(Collections.emptyList()));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateLemmasShouldBeRejected() {
+        new Lexicon(Arrays.asList(hund, createNoun("Hund", Genus.NEUTRAL, "Tier")));
+    }
+}
@@ -23,7 +23,10 @@ package info.gianlucacosta.balmung.lexicon;
 import javafx.util.Pair;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -219,6 +222,66 @@ public class NounDeclensionTest {
     }
 
 
+    @Test
+    public void creatingFromMapShouldMatchEnumeratedExpressions() {
+        Map<Kasus, String> singularMap = new EnumMap<>(Kasus.class);
+        singularMap.put(Kasus.NOMINATIV, "S_NOM");
+        singularMap.put(Kasus.DATIV, "");
+        singularMap.put(Kasus.GENITIV, "S_GEN");
+
+        Map<Numerus, Map<Kasus, String>> declensionMap = new EnumMap<>(Numerus.class);
+        declensionMap.put(Numerus.SINGULAR, singularMap);
+        declensionMap.put(Numerus.PLURAL, new EnumMap<>(Kasus.class));
+
+        NounDeclension nounDeclension =
+                NounDeclension.createOption(declensionMap).get();
+
+        assertThat(
+                nounDeclension,
+                equalTo(NounDeclension.createOption("S_NOM", null, null, "S_GEN", null, null, null, null).get())
+        );
+
+        assertThat(
+                nounDeclension.hashCode(),
+                equalTo(NounDeclension.createOption("S_NOM", "", "", "S_GEN", "", "", "", "").get().hashCode())
+        );
+    }
+
+
+    @Test
+    public void expressionOrNullShouldMatchGetExpression() {
+        NounDeclension nounDeclension =
+                NounDeclension.createOption("S_NOM", null, "S_DAT", "S_GEN", null, null, null, "P_GEN").get();
+
+        for (Numerus numerus : Numerus.values()) {
+            for (Kasus kasus : Kasus.values()) {
+                assertThat(
+                        Optional.ofNullable(nounDeclension.expressionOrNull(numerus, kasus)),
+                        equalTo(nounDeclension.getExpression(numerus, kasus))
+                );
+            }
+        }
+    }
+
+
+    @Test
+    public void forEachExpressionShouldVisitPresentCellsInOrder() {
+        NounDeclension nounDeclension =
+                NounDeclension.createOption("S_NOM", null, "S_DAT", null, null, null, null, "P_GEN").get();
+
+        List<String> visitedCells = new ArrayList<>();
+
+        nounDeclension.forEachExpression((numerus, kasus, expression) ->
+                visitedCells.add(numerus + "/" + kasus + "=" + expression)
+        );
+
+        assertThat(
+                visitedCells,
+                equalTo(Arrays.asList("SINGULAR/NOMINATIV=S_NOM", "SINGULAR/DATIV=S_DAT", "PLURAL/GENITIV=P_GEN"))
+        );
+    }
+
+
     @Test
     public void toStringShouldWorkWithFullDeclension() {
         NounDeclension nounDeclension =
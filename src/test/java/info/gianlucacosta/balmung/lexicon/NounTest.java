@@ -24,10 +24,13 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class NounTest {
@@ -149,4 +152,72 @@ public class NounTest {
                 equalTo(noun.hashCode())
         );
     }
+
+
+    @Test
+    public void expressionsShouldBeReadFromBothDeclensions() {
+        Noun noun = new Noun(
+                "Expression",
+                Collections.singleton("Sample Category"),
+                Collections.emptyList(),
+                Optional.empty(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Optional.empty(),
+                NounDeclensionTest.createTestNounDeclension("main"),
+                Optional.of(NounDeclensionTest.createTestNounDeclension("alternative"))
+        );
+
+        assertThat(
+                noun.getExpression(Numerus.PLURAL, Kasus.DATIV),
+                equalTo(NounDeclensionTest.createTestNounDeclension("main").getExpression(Numerus.PLURAL, Kasus.DATIV))
+        );
+
+        assertThat(
+                noun.getAlternativeExpression(Numerus.SINGULAR, Kasus.GENITIV),
+                equalTo(NounDeclensionTest.createTestNounDeclension("alternative").getExpression(Numerus.SINGULAR, Kasus.GENITIV))
+        );
+    }
+
+
+    @Test
+    public void persistentDeclensionMapShouldRoundTrip() {
+        Noun noun = new Noun(
+                "Expression",
+                Collections.singleton("Sample Category"),
+                NounDeclensionTest.createTestNounDeclension("main")
+        );
+
+        Map<Integer, String> declensions =
+                new HashMap<>(noun.getDeclensions());
+
+        Noun loadedNoun = new Noun();
+        loadedNoun.setDeclensions(declensions);
+
+        assertThat(
+                loadedNoun.getDeclensions(),
+                sameInstance(declensions)
+        );
+
+        assertThat(
+                loadedNoun.getDeclension(),
+                equalTo(noun.getDeclension())
+        );
+
+        assertThat(
+                loadedNoun.getAlternativeDeclension(),
+                equalTo(Optional.empty())
+        );
+
+        assertThat(
+                loadedNoun.getDeclensions(),
+                equalTo(declensions)
+        );
+
+        assertThat(
+                noun.getDeclensions().size(),
+                equalTo(8)
+        );
+    }
 }
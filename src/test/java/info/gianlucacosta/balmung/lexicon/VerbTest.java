@@ -0,0 +1,69 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.lexicon;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class VerbTest {
+    private final Verb verb = new Verb(
+            "gehen",
+            Collections.singleton("Sample Category"),
+            Collections.emptyList(),
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Optional.of("geht"),
+            Optional.of("ging"),
+            Optional.empty(),
+            Optional.of("geh")
+    );
+
+
+    @Test
+    public void formOrNullShouldMatchTheGetters() {
+        assertThat(verb.formOrNull(VerbForm.PRAESENS), equalTo(verb.getPraesens().get()));
+        assertThat(verb.formOrNull(VerbForm.PRAETERITUM), equalTo(verb.getPraeteritum().get()));
+        assertThat(verb.formOrNull(VerbForm.PARTIZIP_PERFEKT), nullValue());
+        assertThat(verb.formOrNull(VerbForm.IMPERATIF_SINGULAR), equalTo(verb.getImperatifSingular().get()));
+    }
+
+
+    @Test
+    public void forEachFormShouldVisitPresentFormsInOrder() {
+        Map<VerbForm, String> visitedForms = new LinkedHashMap<>();
+
+        verb.forEachForm(visitedForms::put);
+
+        assertThat(
+                new ArrayList<>(visitedForms.keySet()),
+                equalTo(Arrays.asList(VerbForm.PRAESENS, VerbForm.PRAETERITUM, VerbForm.IMPERATIF_SINGULAR))
+        );
+
+        assertThat(visitedForms.get(VerbForm.PRAETERITUM), equalTo("ging"));
+    }
+}
@@ -0,0 +1,235 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.snapshot;
+
+import info.gianlucacosta.balmung.lexicon.*;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LexiconSnapshotTest {
+    private final Noun hund = new Noun(
+            "Hund",
+            Collections.singleton("Substantiv"),
+            Arrays.asList("Hund"),
+            Optional.of("hʊnt"),
+            Collections.singleton("Köter"),
+            Collections.emptySet(),
+            Collections.singleton("Tier"),
+            Optional.of(Genus.MASKULIN),
+            NounDeclension.createOption("Hund", "Hund", "Hund", "Hundes", "Hunde", "Hunde", "Hunden", "Hunde").get(),
+            Optional.of(NounDeclension.createOption(null, null, "Hunde", "Hunds", null, null, null, null).get())
+    );
+
+    private final Verb laufen = new Verb(
+            "laufen",
+            new HashSet<>(Arrays.asList("Bewegung", "Sport")),
+            Arrays.asList("lau", "fen"),
+            Optional.empty(),
+            Collections.singleton("rennen"),
+            Collections.singleton("stehen"),
+            Collections.emptySet(),
+            Optional.of("läuft"),
+            Optional.of("lief"),
+            Optional.of("gelaufen"),
+            Optional.empty()
+    );
+
+    private final Adjective schnell = new Adjective(
+            "schnell",
+            Collections.singleton("Bewegung"),
+            Collections.emptyList(),
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.singleton("langsam"),
+            Collections.emptySet(),
+            Optional.of("schneller"),
+            Optional.of("am schnellsten")
+    );
+
+    private final Lemma hundTag = new Lemma(
+            "Hund",
+            Collections.singleton("Bergbau")
+    );
+
+    private final Lexicon lexicon =
+            new Lexicon(Arrays.asList(hund, laufen, schnell, hundTag));
+
+    @Rule
+    public final TemporaryFolder temporaryFolder =
+            new TemporaryFolder();
+
+
+    private Path writeSnapshot() throws IOException {
+        Path path =
+                temporaryFolder.getRoot().toPath().resolve("lexicon.snapshot");
+
+        LexiconSnapshotWriter.write(lexicon, path);
+
+        return path;
+    }
+
+
+    @Test
+    public void snapshotShouldRoundTripTheLexicon() throws IOException {
+        LexiconSnapshot snapshot =
+                LexiconSnapshot.open(writeSnapshot());
+
+        assertThat(snapshot.size(), equalTo(4));
+        assertThat(snapshot.toLexicon().getLemmas(), equalTo(lexicon.getLemmas()));
+    }
+
+
+    @Test
+    public void viewsShouldDecodeSingleFields() throws IOException {
+        LexiconSnapshot snapshot =
+                LexiconSnapshot.open(writeSnapshot());
+
+        LemmaView hundView =
+                snapshot.getLemma(0);
+
+        assertThat(hundView.getKind(), equalTo(LemmaKind.NOUN));
+        assertThat(hundView.getExpression(), equalTo("Hund"));
+        assertThat(hundView.pronunciationOrNull(), equalTo("hʊnt"));
+        assertThat(hundView.genusOrNull(), equalTo(Genus.MASKULIN));
+        assertThat(hundView.expressionOrNull(Numerus.PLURAL, Kasus.DATIV), equalTo("Hunden"));
+        assertThat(hundView.alternativeExpressionOrNull(Numerus.SINGULAR, Kasus.GENITIV), equalTo("Hunds"));
+        assertThat(hundView.alternativeExpressionOrNull(Numerus.PLURAL, Kasus.GENITIV), nullValue());
+        assertThat(hundView.getHypernyms(), equalTo(Collections.singleton("Tier")));
+        assertThat(hundView.formOrNull(VerbForm.PRAESENS), nullValue());
+
+        LemmaView laufenView =
+                snapshot.getLemma(1);
+
+        assertThat(laufenView.getKind(), equalTo(LemmaKind.VERB));
+        assertThat(laufenView.formOrNull(VerbForm.PRAETERITUM), equalTo("lief"));
+        assertThat(laufenView.formOrNull(VerbForm.IMPERATIF_SINGULAR), nullValue());
+        assertThat(laufenView.getCategories(), equalTo(new HashSet<>(Arrays.asList("Bewegung", "Sport"))));
+        assertThat(laufenView.getSyllables(), equalTo(Arrays.asList("lau", "fen")));
+        assertThat(laufenView.getAntonyms(), equalTo(Collections.singleton("stehen")));
+        assertThat(laufenView.genusOrNull(), nullValue());
+
+        assertThat(snapshot.getLemma(2).formOrNull(AdjectiveForm.SUPERLATIVE), equalTo("am schnellsten"));
+        assertThat(snapshot.getLemma(3).getKind(), equalTo(LemmaKind.LEMMA));
+    }
+
+
+    @Test
+    public void lemmasShouldBeFoundByExpression() {
+        LexiconSnapshot snapshot =
+                LexiconSnapshot.wrap(LexiconSnapshotWriter.encode(lexicon));
+
+        assertThat(
+                snapshot.getLemmasByExpression("Hund"),
+                equalTo(Arrays.asList(snapshot.getLemma(0), snapshot.getLemma(3)))
+        );
+
+        assertThat(
+                snapshot.getLemmasByExpression("schnell"),
+                equalTo(Collections.singletonList(snapshot.getLemma(2)))
+        );
+
+        assertThat(snapshot.getLemmasByExpression("Katze"), equalTo(Collections.emptyList()));
+    }
+
+
+    @Test
+    public void emptyLexiconsShouldBeSupported() {
+        LexiconSnapshot snapshot =
+                LexiconSnapshot.wrap(LexiconSnapshotWriter.encode(new Lexicon(Collections.emptyList())));
+
+        assertThat(snapshot.size(), equalTo(0));
+        assertThat(snapshot.getLemmasByExpression("Hund"), equalTo(Collections.emptyList()));
+    }
+
+
+    @Test(expected = IOException.class)
+    public void corruptedSnapshotsShouldBeRejected() throws IOException {
+        Path path =
+                writeSnapshot();
+
+        byte[] bytes =
+                Files.readAllBytes(path);
+
+        bytes[bytes.length - 1] ^= 1;
+
+        Files.write(path, bytes);
+
+        LexiconSnapshot.open(path);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedVersionsShouldBeRejected() {
+        ByteBuffer buffer =
+                LexiconSnapshotWriter.encode(lexicon);
+
+        buffer.put(4, (byte) 99);
+
+        LexiconSnapshot.wrap(buffer);
+    }
+
+
+    @Test
+    public void newSnapshotsShouldBeReadableByEveryone() throws IOException {
+        Path path =
+                writeSnapshot();
+
+        Assume.assumeTrue(Files.getFileAttributeView(path, PosixFileAttributeView.class) != null);
+
+        assertThat(
+                Files.getPosixFilePermissions(path),
+                equalTo(PosixFilePermissions.fromString("rw-r--r--"))
+        );
+    }
+
+
+    @Test
+    public void replacedSnapshotsShouldKeepTheirPermissions() throws IOException {
+        Path path =
+                writeSnapshot();
+
+        Assume.assumeTrue(Files.getFileAttributeView(path, PosixFileAttributeView.class) != null);
+
+        Set<PosixFilePermission> permissions =
+                PosixFilePermissions.fromString("rw-r-----");
+
+        Files.setPosixFilePermissions(path, permissions);
+
+        LexiconSnapshotWriter.write(lexicon, path);
+
+        assertThat(Files.getPosixFilePermissions(path), equalTo(permissions));
+    }
+}
@@ -0,0 +1,168 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransform;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BulkTransformsTest {
+    private final Transform transform =
+            new SuffixTransform("um", false, "en");
+
+
+    @Test
+    public void applyingToSmallArraysShouldWork() {
+        String[] origins = {"Zentrum", "Museum", "Kind", "Datum"};
+        String[] results = new String[origins.length];
+
+        List<TransformFailure> failures =
+                transform.applyAll(origins, results);
+
+        assertThat(
+                results,
+                equalTo(new String[]{"Zentren", "Museen", null, "Daten"})
+        );
+
+        assertThat(
+                failures,
+                equalTo(Arrays.asList(
+                        new TransformFailure(2, "Kind", "'Kind' does not end with 'um'")
+                ))
+        );
+    }
+
+
+    @Test
+    public void applyingToLargeArraysShouldWork() {
+        int originsCount = 10 * BulkTransforms.PARALLEL_THRESHOLD + 17;
+
+        String[] origins =
+                IntStream
+                        .range(0, originsCount)
+                        .mapToObj(index ->
+                                (index % 1000 == 0) ?
+                                        "Kind" + index
+                                        :
+                                        "Zentrum" + index + "um"
+                        )
+                        .toArray(String[]::new);
+
+        String[] results =
+                new String[originsCount];
+
+        List<TransformFailure> failures =
+                transform.applyAll(origins, results);
+
+        for (int i = 0; i < originsCount; i++) {
+            if (i % 1000 == 0) {
+                assertThat(results[i], is(nullValue()));
+            } else {
+                assertThat(results[i], equalTo("Zentrum" + i + "en"));
+            }
+        }
+
+        assertThat(
+                failures
+                        .stream()
+                        .map(TransformFailure::getIndex)
+                        .collect(Collectors.toList()),
+
+                equalTo(
+                        IntStream
+                                .range(0, originsCount)
+                                .filter(index -> index % 1000 == 0)
+                                .boxed()
+                                .collect(Collectors.toList())
+                )
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyingToShorterResultArraysShouldFail() {
+        transform.applyAll(new String[]{"Zentrum", "Museum"}, new String[1]);
+    }
+
+
+    @Test
+    public void applyingToStreamsShouldWork() {
+        List<TransformOutcome> outcomes =
+                transform
+                        .applyAll(Stream.of("Zentrum", "Kind", "Museum"))
+                        .collect(Collectors.toList());
+
+        assertThat(
+                outcomes
+                        .stream()
+                        .map(TransformOutcome::getResult)
+                        .collect(Collectors.toList()),
+
+                equalTo(Arrays.asList(
+                        Optional.of("Zentren"),
+                        Optional.empty(),
+                        Optional.of("Museen")
+                ))
+        );
+
+        assertThat(
+                outcomes.get(1).getFailureReason(),
+                equalTo(Optional.of("'Kind' does not end with 'um'"))
+        );
+    }
+
+
+    @Test
+    public void applyingToLargeStreamsShouldPreserveTheEncounterOrder() {
+        int originsCount = 4 * BulkTransforms.PARALLEL_THRESHOLD;
+
+        List<String> results =
+                transform
+                        .applyAll(
+                                IntStream
+                                        .range(0, originsCount)
+                                        .mapToObj(index -> "Datum" + index + "um")
+                        )
+                        .map(outcome -> outcome.getResult().get())
+                        .collect(Collectors.toList());
+
+        assertThat(
+                results,
+                equalTo(
+                        IntStream
+                                .range(0, originsCount)
+                                .mapToObj(index -> "Datum" + index + "en")
+                                .collect(Collectors.toList())
+                )
+        );
+    }
+}
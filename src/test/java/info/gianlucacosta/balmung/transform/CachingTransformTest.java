@@ -0,0 +1,91 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransform;
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransformComputeCache;
+import info.gianlucacosta.balmung.transform.util.CacheStatistics;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CachingTransformTest {
+    @Test
+    public void cachingTransformsShouldMemoizeResults() {
+        AtomicInteger applicationCount = new AtomicInteger();
+
+        SuffixTransform suffixTransform =
+                new SuffixTransform("", true, "er");
+
+        CachingTransform cachingTransform = new CachingTransform(
+                origin -> {
+                    applicationCount.incrementAndGet();
+                    return suffixTransform.apply(origin);
+                },
+                1000
+        );
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cachingTransform.apply("Buch"), equalTo("Bücher"));
+            assertThat(cachingTransform.apply("Wald"), equalTo("Wälder"));
+        }
+
+        assertThat(applicationCount.get(), equalTo(2));
+
+        assertThat(
+                cachingTransform.getStatistics(),
+                equalTo(new CacheStatistics(4, 2, 0))
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cachingTransformsShouldPropagateFailures() {
+        CachingTransform cachingTransform =
+                new CachingTransform(new SuffixTransform("um", false, "en"), 1000);
+
+        cachingTransform.apply("Kind");
+    }
+
+
+    @Test
+    public void computeCachesShouldReturnCanonicalTransforms() {
+        SuffixTransformComputeCache computeCache =
+                new SuffixTransformComputeCache(1000);
+
+        SuffixTransform transform =
+                computeCache.compute("Buch", "Bücher");
+
+        assertThat(transform, equalTo(new SuffixTransform("", true, "er")));
+
+        assertThat(computeCache.compute("Buch", "Bücher"), sameInstance(transform));
+        assertThat(computeCache.compute("Wald", "Wälder"), sameInstance(transform));
+
+        assertThat(
+                computeCache.getStatistics(),
+                equalTo(new CacheStatistics(1, 2, 0))
+        );
+    }
+}
@@ -0,0 +1,70 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransform;
+import info.gianlucacosta.balmung.transform.util.NormalizationStatistics;
+import info.gianlucacosta.balmung.transform.util.WordNormalizer;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class NormalizingTransformTest {
+    private static final String DECOMPOSED_MAEDCHEN = "Mädchen";
+
+
+    @Test
+    public void decomposedInputShouldMatchPrecomposedSuffixes() {
+        NormalizingTransform normalizingTransform =
+                new NormalizingTransform(
+                        new SuffixTransform("ädchen", false, "ädel")
+                );
+
+        assertThat(
+                normalizingTransform.apply(DECOMPOSED_MAEDCHEN),
+                equalTo("Mädel")
+        );
+
+        assertThat(
+                normalizingTransform.apply("Mädchen"),
+                equalTo("Mädel")
+        );
+
+        assertThat(
+                normalizingTransform.getStatistics(),
+                equalTo(new NormalizationStatistics(1, 1, 1))
+        );
+    }
+
+
+    @Test
+    public void computeShouldRecognizeDecomposedUmlauts() {
+        WordNormalizer normalizer = new WordNormalizer();
+
+        assertThat(
+                SuffixTransform.compute("Buch", "Bücher", normalizer),
+                equalTo(new SuffixTransform("", true, "er"))
+        );
+
+        assertThat(normalizer.getStatistics().getSlowPathCount(), equalTo(1L));
+    }
+}
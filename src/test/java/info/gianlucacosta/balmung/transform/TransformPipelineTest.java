@@ -0,0 +1,257 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform;
+
+import info.gianlucacosta.balmung.transform.extensive.SuffixTransform;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+public class TransformPipelineTest {
+    private static final List<SuffixTransform> TEST_TRANSFORMS = Arrays.asList(
+            new SuffixTransform("", false, ""),
+            new SuffixTransform("", true, ""),
+            new SuffixTransform("", false, "n"),
+            new SuffixTransform("", false, "er"),
+            new SuffixTransform("", true, "er"),
+            new SuffixTransform("", true, "ern"),
+            new SuffixTransform("", false, "as"),
+            new SuffixTransform("", true, "um"),
+            new SuffixTransform("n", false, ""),
+            new SuffixTransform("n", true, "s"),
+            new SuffixTransform("r", true, "n"),
+            new SuffixTransform("ern", false, "e"),
+            new SuffixTransform("um", false, "en"),
+            new SuffixTransform("um", true, "a"),
+            new SuffixTransform("s", false, "nten"),
+            new SuffixTransform("as", true, "en"),
+            new SuffixTransform("las", false, "lanten"),
+            new SuffixTransform("tlas", true, "")
+    );
+
+
+    private static final List<String> TEST_WORDS = Arrays.asList(
+            "",
+            "Atlas",
+            "Tal",
+            "Haus",
+            "Zentrum",
+            "Baum",
+            "Mutter",
+            "Kind",
+            "Kunden",
+            "Bürgern",
+            "Ärztlas",
+            "Obstmus",
+            "Uhr"
+    );
+
+
+    private static String applyInSequence(String origin, List<? extends Transform> transforms) {
+        String result = origin;
+
+        for (Transform transform : transforms) {
+            try {
+                result = transform.apply(result);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+
+    private static String applyOrNull(Transform transform, String origin) {
+        try {
+            return transform.apply(origin);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+
+    @Test
+    public void composingSuffixTransformsShouldMatchSequentialApplication() {
+        for (SuffixTransform firstTransform : TEST_TRANSFORMS) {
+            for (SuffixTransform secondTransform : TEST_TRANSFORMS) {
+                List<SuffixTransform> transforms =
+                        Arrays.asList(firstTransform, secondTransform);
+
+                Transform composedTransform =
+                        Transform.compose(firstTransform, secondTransform);
+
+                for (String word : TEST_WORDS) {
+                    assertThat(
+                            String.format("%s on '%s'", transforms, word),
+                            applyOrNull(composedTransform, word),
+                            equalTo(applyInSequence(word, transforms))
+                    );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void composingLongerChainsShouldMatchSequentialApplication() {
+        for (int i = 0; i + 2 < TEST_TRANSFORMS.size(); i++) {
+            List<SuffixTransform> transforms =
+                    TEST_TRANSFORMS.subList(i, i + 3);
+
+            Transform composedTransform =
+                    TransformPipeline.compose(transforms);
+
+            for (String word : TEST_WORDS) {
+                assertThat(
+                        String.format("%s on '%s'", transforms, word),
+                        applyOrNull(composedTransform, word),
+                        equalTo(applyInSequence(word, transforms))
+                );
+            }
+        }
+    }
+
+
+    @Test
+    public void derivationChainsShouldBeMergedIntoOneSuffixTransform() {
+        Transform pluralTransform =
+                new SuffixTransform("", true, "er");
+
+        Transform dativePluralTransform =
+                new SuffixTransform("", false, "n");
+
+        Transform composedTransform =
+                Transform.compose(pluralTransform, dativePluralTransform);
+
+        assertThat(
+                composedTransform,
+                equalTo(new SuffixTransform("", true, "ern"))
+        );
+    }
+
+
+    @Test
+    public void suffixCancellationShouldBeMerged() {
+        Transform composedTransform =
+                Transform.compose(
+                        new SuffixTransform("um", false, "en"),
+                        new SuffixTransform("en", false, "a")
+                );
+
+        assertThat(
+                composedTransform,
+                equalTo(new SuffixTransform("um", false, "a"))
+        );
+    }
+
+
+    @Test
+    public void umlautsInTheAddedSuffixShouldBeMerged() {
+        Transform composedTransform =
+                Transform.compose(
+                        new SuffixTransform("", false, "as"),
+                        new SuffixTransform("s", true, "e")
+                );
+
+        assertThat(
+                composedTransform,
+                equalTo(new SuffixTransform("", false, "äe"))
+        );
+    }
+
+
+    @Test
+    public void doubleUmlautsOnTheStemShouldNotBeMerged() {
+        Transform composedTransform =
+                Transform.compose(
+                        new SuffixTransform("", true, "er"),
+                        new SuffixTransform("er", true, "")
+                );
+
+        assertThat(
+                composedTransform,
+                instanceOf(TransformPipeline.class)
+        );
+
+        assertThat(
+                composedTransform.apply("Ausgang"),
+                equalTo("Aüsgäng")
+        );
+    }
+
+
+    @Test
+    public void arbitraryTransformsShouldRunWithinThePipeline() {
+        Transform upperCaseTransform =
+                String::toUpperCase;
+
+        Transform composedTransform =
+                Transform.compose(
+                        new SuffixTransform("", true, "er"),
+                        upperCaseTransform,
+                        new SuffixTransform("", false, "N")
+                );
+
+        assertThat(
+                composedTransform.apply("Buch"),
+                equalTo("BÜCHERN")
+        );
+    }
+
+
+    @Test
+    public void nestedPipelinesShouldBeFlattened() {
+        Transform upperCaseTransform =
+                String::toUpperCase;
+
+        Transform innerPipeline =
+                Transform.compose(
+                        upperCaseTransform,
+                        new SuffixTransform("", false, "ER")
+                );
+
+        Transform composedTransform =
+                Transform.compose(
+                        innerPipeline,
+                        new SuffixTransform("", false, "N")
+                );
+
+        assertThat(
+                ((TransformPipeline) composedTransform).getSteps(),
+                equalTo(Arrays.asList(upperCaseTransform, new SuffixTransform("", false, "ERN")))
+        );
+    }
+
+
+    @Test
+    public void composingNoTransformsShouldReturnTheIdentity() {
+        assertThat(
+                Transform.compose().apply("Kind"),
+                equalTo("Kind")
+        );
+    }
+}
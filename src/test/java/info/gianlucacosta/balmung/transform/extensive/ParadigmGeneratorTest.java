@@ -0,0 +1,130 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ParadigmGeneratorTest {
+    private static final List<SuffixTransform> MIXED_TRANSFORMS = Arrays.asList(
+            new SuffixTransform("", false, ""),
+            new SuffixTransform("", true, "er"),
+            new SuffixTransform("", false, "es"),
+            new SuffixTransform("", true, ""),
+            new SuffixTransform("s", false, "nten"),
+            new SuffixTransform("s", true, "e"),
+            new SuffixTransform("as", true, "en"),
+            new SuffixTransform("", true, "ern"),
+            new SuffixTransform("las", true, ""),
+            new SuffixTransform("", false, "n")
+    );
+
+
+    @Test
+    public void generatingADeclensionShouldWork() {
+        ParadigmGenerator generator = new ParadigmGenerator(Arrays.asList(
+                new SuffixTransform("", false, ""),
+                new SuffixTransform("", false, ""),
+                new SuffixTransform("", false, ""),
+                new SuffixTransform("", false, "es"),
+
+                new SuffixTransform("", true, "er"),
+                new SuffixTransform("", true, "er"),
+                new SuffixTransform("", true, "ern"),
+                new SuffixTransform("", true, "er")
+        ));
+
+        assertThat(
+                generator.generate("Buch"),
+                equalTo(new String[]{
+                        "Buch",
+                        "Buch",
+                        "Buch",
+                        "Buches",
+
+                        "Bücher",
+                        "Bücher",
+                        "Büchern",
+                        "Bücher"
+                })
+        );
+    }
+
+
+    @Test
+    public void generatedParadigmsShouldMatchSingleApplications() {
+        ParadigmGenerator generator =
+                new ParadigmGenerator(MIXED_TRANSFORMS);
+
+        for (String origin : Arrays.asList("Atlas", "Glas", "las", "Obstlas", "Ärztlas", "Prüfungsamtlas")) {
+            String[] expectedParadigm =
+                    MIXED_TRANSFORMS
+                            .stream()
+                            .map(transform -> transform.apply(origin))
+                            .toArray(String[]::new);
+
+            assertThat(
+                    generator.generate(origin),
+                    equalTo(expectedParadigm)
+            );
+        }
+    }
+
+
+    @Test
+    public void generatingIntoExistingArraysShouldWork() {
+        ParadigmGenerator generator =
+                new ParadigmGenerator(MIXED_TRANSFORMS);
+
+        String[] paradigm =
+                new String[MIXED_TRANSFORMS.size() + 1];
+
+        generator.generate("Atlas", paradigm);
+
+        assertThat(
+                Arrays.copyOf(paradigm, MIXED_TRANSFORMS.size()),
+                equalTo(generator.generate("Atlas"))
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generatingFromOriginsNotHavingTheSuffixToRemoveShouldFail() {
+        ParadigmGenerator generator =
+                new ParadigmGenerator(MIXED_TRANSFORMS);
+
+        generator.generate("Kind");
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generatingIntoShorterArraysShouldFail() {
+        ParadigmGenerator generator =
+                new ParadigmGenerator(MIXED_TRANSFORMS);
+
+        generator.generate("Atlas", new String[1]);
+    }
+}
@@ -0,0 +1,189 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.junit.Assert.assertThat;
+
+public class ReverseSuffixTrieTest {
+    private static final List<SuffixTransform> TEST_TRANSFORMS = Arrays.asList(
+            new SuffixTransform("", false, ""),
+            new SuffixTransform("", true, ""),
+            new SuffixTransform("", false, "n"),
+            new SuffixTransform("", false, "en"),
+            new SuffixTransform("", false, "er"),
+            new SuffixTransform("", true, "er"),
+            new SuffixTransform("", true, "ern"),
+            new SuffixTransform("", false, "s"),
+            new SuffixTransform("", true, "e"),
+            new SuffixTransform("um", false, "en"),
+            new SuffixTransform("s", false, "nten")
+    );
+
+
+    private final ReverseSuffixTrie trie =
+            new ReverseSuffixTrie(TEST_TRANSFORMS);
+
+
+    private static String generateStem(Random random) {
+        String stemChars = "AaOoUuÄäÖöÜüeinrst";
+
+        StringBuilder stem = new StringBuilder();
+
+        int length = random.nextInt(7);
+
+        for (int i = 0; i < length; i++) {
+            stem.append(stemChars.charAt(random.nextInt(stemChars.length())));
+        }
+
+        return stem.toString();
+    }
+
+
+    @Test
+    public void invertingShouldFindTheLemma() {
+        assertThat(
+                trie.invert("Büchern"),
+                hasItem(new TransformOrigin("Buch", new SuffixTransform("", true, "ern")))
+        );
+    }
+
+
+    @Test
+    public void invertingShouldFindEveryOrigin() {
+        Random random = new Random(90);
+
+        for (int i = 0; i < 5000; i++) {
+            String stem = generateStem(random);
+
+            for (SuffixTransform transform : TEST_TRANSFORMS) {
+                String origin = stem + transform.getSuffixToRemove();
+                String result = transform.apply(origin);
+
+                assertThat(
+                        transform + " on " + origin,
+                        transform.invert(result),
+                        hasItem(origin)
+                );
+
+                assertThat(
+                        transform + " on " + origin,
+                        trie.invert(result),
+                        hasItem(new TransformOrigin(origin, transform))
+                );
+            }
+        }
+    }
+
+
+    @Test
+    public void umlautInversionShouldConsiderEveryUmlautVowel() {
+        SuffixTransform transform = new SuffixTransform("", true, "e");
+
+        assertThat(transform.apply("Ausländ"), equalTo("Aüslände"));
+        assertThat(transform.invert("Aüslände"), hasItem("Ausländ"));
+
+        assertThat(transform.apply("Mutä"), equalTo("Mütäe"));
+        assertThat(
+                new HashSet<>(transform.invert("Mütäe")),
+                equalTo(new HashSet<>(Arrays.asList("Mutä", "Müta", "Mütä")))
+        );
+    }
+
+
+    @Test
+    public void everyInversionShouldProduceTheResult() {
+        for (String result : Arrays.asList("Häusern", "Zentren", "Atlanten", "Mäntel", "Äpfel", "Bäume", "Übungen")) {
+            trie.invert(result).forEach(transformOrigin ->
+                    assertThat(
+                            transformOrigin.toString(),
+                            transformOrigin.getTransform().apply(transformOrigin.getOrigin()),
+                            equalTo(result)
+                    )
+            );
+        }
+    }
+
+
+    @Test
+    public void umlautInversionShouldConsiderPreexistingUmlauts() {
+        assertThat(
+                new HashSet<>(new SuffixTransform("", true, "er").invert("Bücher")),
+                equalTo(new HashSet<>(Arrays.asList("Buch", "Büch")))
+        );
+    }
+
+
+    @Test
+    public void umlautInversionShouldRejectVowelsThatWouldReceiveUmlaut() {
+        assertThat(
+                new SuffixTransform("", true, "er").invert("Bucher"),
+                equalTo(Arrays.asList())
+        );
+    }
+
+
+    @Test
+    public void umlautInversionShouldAllowStemsWithoutVowelsReceivingUmlaut() {
+        assertThat(
+                new SuffixTransform("", true, "er").invert("Kinder"),
+                equalTo(Arrays.asList("Kind"))
+        );
+    }
+
+
+    @Test
+    public void duplicateTransformsShouldBeIgnored() {
+        ReverseSuffixTrie duplicatesTrie = new ReverseSuffixTrie(Arrays.asList(
+                new SuffixTransform("", false, "n"),
+                new SuffixTransform("", false, "n")
+        ));
+
+        assertThat(duplicatesTrie.size(), equalTo(1));
+
+        assertThat(
+                duplicatesTrie.invert("Kunden"),
+                equalTo(Arrays.asList(new TransformOrigin("Kunde", new SuffixTransform("", false, "n"))))
+        );
+    }
+
+
+    @Test
+    public void triesShouldBeBuiltFromRegistries() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        registry.compute("Buch", "Bücher");
+        registry.compute("Kunde", "Kunden");
+
+        assertThat(
+                ReverseSuffixTrie.of(registry).invert("Männer"),
+                hasItem(new TransformOrigin("Mann", new SuffixTransform("", true, "er")))
+        );
+    }
+}
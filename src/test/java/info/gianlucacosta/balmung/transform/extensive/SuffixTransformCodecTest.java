@@ -0,0 +1,198 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SuffixTransformCodecTest {
+    private final List<SuffixTransform> table = Arrays.asList(
+            new SuffixTransform("", false, ""),
+            new SuffixTransform("", false, "es"),
+            new SuffixTransform("", true, "er"),
+            null,
+            new SuffixTransform("", true, "ern"),
+            new SuffixTransform("um", false, "en"),
+            new SuffixTransform("", true, "er")
+    );
+
+
+    @Test
+    public void tablesShouldSurviveByteArrayRoundTrips() {
+        assertThat(
+                SuffixTransformCodec.decodeTable(SuffixTransformCodec.encodeTable(table)),
+                equalTo(table)
+        );
+    }
+
+
+    @Test
+    public void suffixesShouldBeSharedThroughThePool() {
+        List<SuffixTransform> decodedTable =
+                SuffixTransformCodec.decodeTable(SuffixTransformCodec.encodeTable(table));
+
+        assertThat(
+                decodedTable.get(2).getSuffixToAdd(),
+                sameInstance(decodedTable.get(6).getSuffixToAdd())
+        );
+    }
+
+
+    @Test
+    public void dataStreamsAndByteBuffersShouldShareTheFormat() throws IOException {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(byteStream)) {
+            SuffixTransformCodec.writeTable(table, output);
+            SuffixTransformCodec.writeTransform(table.get(5), output);
+        }
+
+        ByteBuffer buffer =
+                ByteBuffer.wrap(byteStream.toByteArray());
+
+        assertThat(SuffixTransformCodec.readTable(buffer), equalTo(table));
+        assertThat(SuffixTransformCodec.readTransform(buffer), equalTo(table.get(5)));
+        assertThat(buffer.hasRemaining(), equalTo(false));
+
+        ByteBuffer target = ByteBuffer.allocate(byteStream.size());
+        SuffixTransformCodec.writeTable(table, target);
+        SuffixTransformCodec.writeTransform(table.get(5), target);
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(target.array()))) {
+            assertThat(SuffixTransformCodec.readTable(input), equalTo(table));
+            assertThat(SuffixTransformCodec.readTransform(input), equalTo(table.get(5)));
+        }
+    }
+
+
+    @Test
+    public void nonLatinSuffixesShouldBeSupported() {
+        SuffixTransform transform =
+                new SuffixTransform("ь", false, "и");
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        SuffixTransformCodec.writeTransform(transform, buffer);
+        buffer.flip();
+
+        assertThat(SuffixTransformCodec.readTransform(buffer), equalTo(transform));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedTablesShouldBeRejected() {
+        byte[] bytes =
+                SuffixTransformCodec.encodeTable(table);
+
+        SuffixTransformCodec.decodeTable(Arrays.copyOf(bytes, bytes.length - 2));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVersionsShouldBeRejected() {
+        byte[] bytes =
+                SuffixTransformCodec.encodeTable(table);
+
+        bytes[1] = 99;
+
+        SuffixTransformCodec.decodeTable(bytes);
+    }
+
+
+    private static byte[] createTable(int... payload) {
+        byte[] result =
+                new byte[payload.length + 1];
+
+        result[0] = (byte) payload.length;
+
+        for (int i = 0; i < payload.length; i++) {
+            result[i + 1] = (byte) payload[i];
+        }
+
+        return result;
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePoolSizesShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void overlongVarintsShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 0x80, 0x80, 0x80, 0x80, 0x80, 0x00));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cellCountsExceedingThePayloadShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x07));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void suffixLengthsExceedingThePayloadShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x07));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePoolIndexesShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 1, 0, 1, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 0));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void poolIndexesBeyondThePoolShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 1, 0, 1, 0, 0, 5));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void undefinedCellFlagsShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 1, 0, 1, 4, 0, 0));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyCellsWithUmlautShouldBeRejected() {
+        SuffixTransformCodec.decodeTable(createTable(1, 0, 1, 3));
+    }
+
+
+    @Test(expected = EOFException.class)
+    public void forgedPayloadLengthsShouldNotBeAllocatedUpfront() throws IOException {
+        byte[] bytes = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1, 0, 0};
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            SuffixTransformCodec.readTable(input);
+        }
+    }
+}
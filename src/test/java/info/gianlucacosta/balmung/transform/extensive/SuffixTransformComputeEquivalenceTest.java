@@ -0,0 +1,143 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import info.gianlucacosta.balmung.transform.util.Conversions;
+import info.gianlucacosta.balmung.transform.util.Vowels;
+import org.junit.Test;
+
+import java.util.Deque;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class SuffixTransformComputeEquivalenceTest {
+    private static final String[][] TEST_PAIRS = {
+            {"", ""},
+            {"", "e"},
+            {"Spiegel", "Spiegel"},
+            {"Mantel", "Mäntel"},
+            {"Kino", "Kinos"},
+            {"Buch", "Bücher"},
+            {"Aula", "Aulen"},
+            {"Atlas", "Atlanten"},
+            {"hoch", "höher"},
+            {"Haus", "Häuser"},
+            {"Baum", "Bäume"},
+            {"Straßenlied", "Straßenlieder"},
+            {"Präsidiumsmitglied", "Präsidiumsmitglieder"},
+            {"Apfel", "Äpfel"},
+            {"Ofen", "Öfen"},
+            {"Uhr", "Uhren"},
+            {"Mutter", "Mütter"},
+            {"Ufer", "Üfer"},
+            {"Aal", "Ääle"},
+            {"Saal", "Säle"},
+            {"Museum", "Museen"},
+            {"Thema", "Themen"},
+            {"Kaktus", "Kakteen"},
+            {"Auto", "autos"},
+            {"auto", "Autos"},
+            {"Adler", "Ädler"},
+            {"adler", "Ädler"},
+            {"Adler", "adler"},
+            {"Ärger", "Arger"},
+            {"ausgabe", "ÄUSGABEN"},
+            {"Mann", "Männer"},
+            {"Gott", "Götter"},
+            {"Fuß", "Füße"}
+    };
+
+
+    private static SuffixTransform computeWithDeques(String origin, String result) {
+        Deque<Character> originDeque =
+                Conversions.stringToDeque(origin);
+
+        Deque<Character> resultDeque =
+                Conversions.stringToDeque(result);
+
+        boolean wasUmlautAdded = false;
+
+        while (!originDeque.isEmpty()) {
+            char originChar =
+                    originDeque.peekFirst();
+
+            char resultChar =
+                    resultDeque.peekFirst();
+
+            if (originChar != resultChar) {
+                if (!wasUmlautAdded && Vowels.isUmlautAdded(originChar, resultChar)) {
+                    wasUmlautAdded = true;
+                } else {
+                    break;
+                }
+            }
+
+            originDeque.removeFirst();
+            resultDeque.removeFirst();
+        }
+
+        String removedSuffix =
+                Conversions.streamToString(originDeque.stream());
+
+        String addedSuffix =
+                Conversions.streamToString(resultDeque.stream());
+
+        return new SuffixTransform(removedSuffix, wasUmlautAdded, addedSuffix);
+    }
+
+
+    @Test
+    public void computeShouldMatchTheDequeBasedInference() {
+        for (String[] testPair : TEST_PAIRS) {
+            String origin = testPair[0];
+            String result = testPair[1];
+
+            assertThat(
+                    String.format("'%s' => '%s'", origin, result),
+                    SuffixTransform.compute(origin, result),
+                    equalTo(computeWithDeques(origin, result))
+            );
+        }
+    }
+
+
+    @Test
+    public void computeShouldMatchTheDequeBasedInferenceOnEveryPrefixPair() {
+        String origin = "Straßenbahnhaltestelle";
+        String result = "Straßenbähnhältestellen";
+
+        for (int originLength = 0; originLength <= origin.length(); originLength++) {
+            for (int resultLength = originLength; resultLength <= result.length(); resultLength++) {
+                String originPrefix =
+                        origin.substring(0, originLength);
+
+                String resultPrefix =
+                        result.substring(0, resultLength);
+
+                assertThat(
+                        SuffixTransform.compute(originPrefix, resultPrefix),
+                        equalTo(computeWithDeques(originPrefix, resultPrefix))
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SuffixTransformRegistryTest {
+    @Test
+    public void equalTransformsShouldBeInternedToTheSameInstance() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        SuffixTransform transform =
+                registry.intern("", true, "er");
+
+        SuffixTransform verySameTransform =
+                registry.intern(new SuffixTransform("", true, "er"));
+
+        assertThat(
+                verySameTransform,
+                sameInstance(transform)
+        );
+    }
+
+
+    @Test
+    public void computedTransformsShouldBeInterned() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        SuffixTransform transform =
+                registry.compute("Haus", "Häuser");
+
+        SuffixTransform verySameTransform =
+                registry.compute("Buch", "Bücher");
+
+        assertThat(
+                verySameTransform,
+                sameInstance(transform)
+        );
+    }
+
+
+    @Test
+    public void idsShouldBeDenseAndInRegistrationOrder() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        SuffixTransform pluralWithS = registry.compute("Kino", "Kinos");
+        SuffixTransform pluralWithUmlaut = registry.compute("Mantel", "Mäntel");
+        registry.compute("Auto", "Autos");
+        SuffixTransform pluralWithEn = registry.compute("Aula", "Aulen");
+
+        assertThat(registry.size(), equalTo(3));
+
+        assertThat(registry.getId(pluralWithS), equalTo(OptionalInt.of(0)));
+        assertThat(registry.getId(pluralWithUmlaut), equalTo(OptionalInt.of(1)));
+        assertThat(registry.getId(pluralWithEn), equalTo(OptionalInt.of(2)));
+
+        assertThat(
+                registry.getTransforms(),
+                equalTo(Arrays.asList(pluralWithS, pluralWithUmlaut, pluralWithEn))
+        );
+    }
+
+
+    @Test
+    public void transformsShouldBeRetrievableById() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        SuffixTransform transform =
+                registry.intern("a", false, "en");
+
+        assertThat(
+                registry.getTransform(registry.getId(transform).getAsInt()),
+                sameInstance(transform)
+        );
+    }
+
+
+    @Test
+    public void unregisteredTransformsShouldHaveNoId() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        assertThat(
+                registry.getId(new SuffixTransform("", false, "s")).isPresent(),
+                is(false)
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void retrievingUnregisteredIdsShouldFail() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        registry.getTransform(0);
+    }
+
+
+    @Test
+    public void concurrentInterningShouldReturnCanonicalInstances() {
+        SuffixTransformRegistry registry = new SuffixTransformRegistry();
+
+        int distinctTransformsCount = 500;
+
+        List<SuffixTransform> internedTransforms =
+                IntStream
+                        .range(0, 20 * distinctTransformsCount)
+                        .parallel()
+                        .mapToObj(index ->
+                                registry.intern(
+                                        "",
+                                        false,
+                                        "suffix" + (index % distinctTransformsCount)
+                                )
+                        )
+                        .collect(Collectors.toList());
+
+        assertThat(registry.size(), equalTo(distinctTransformsCount));
+
+        internedTransforms.forEach(transform ->
+                assertThat(
+                        registry.getTransform(registry.getId(transform).getAsInt()),
+                        sameInstance(transform)
+                )
+        );
+    }
+}
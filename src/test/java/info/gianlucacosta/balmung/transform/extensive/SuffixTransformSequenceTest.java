@@ -0,0 +1,175 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.extensive;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SuffixTransformSequenceTest {
+    private static final List<SuffixTransform> TEST_TRANSFORMS = Arrays.asList(
+            new SuffixTransform("", false, ""),
+            new SuffixTransform("", true, ""),
+            new SuffixTransform("", true, "er"),
+            new SuffixTransform("", false, "n"),
+            new SuffixTransform("ß", true, "sse"),
+            new SuffixTransform("um", false, "en"),
+            new SuffixTransform("", true, "ä")
+    );
+
+
+    private static final List<String> TEST_WORDS = Arrays.asList(
+            "",
+            "Buch",
+            "Mantel",
+            "Fuß",
+            "Zentrum",
+            "Präsidium",
+            "Kind",
+            "Straßenbahn",
+            "Ärztehaus"
+    );
+
+
+    private static byte[] applyToUtf8Slice(SuffixTransform transform, String origin) {
+        byte[] originBytes =
+                origin.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer source =
+                ByteBuffer.allocate(originBytes.length + 6);
+
+        source.put("<<<".getBytes(StandardCharsets.UTF_8));
+        source.put(originBytes);
+        source.put(">>>".getBytes(StandardCharsets.UTF_8));
+        source.position(1);
+
+        ByteBuffer target =
+                ByteBuffer.allocate(4 * originBytes.length + 32);
+
+        target.put((byte) '#');
+
+        int writtenBytes =
+                transform.applyToUtf8(source, 3, originBytes.length, target);
+
+        assertThat(source.position(), equalTo(1));
+        assertThat(target.position(), equalTo(1 + writtenBytes));
+
+        return Arrays.copyOfRange(target.array(), 1, 1 + writtenBytes);
+    }
+
+
+    @Test
+    public void applyingToCharSequencesShouldMatchApply() throws IOException {
+        for (SuffixTransform transform : TEST_TRANSFORMS) {
+            for (String word : TEST_WORDS) {
+                CharBuffer origin = CharBuffer.wrap("(" + word + ")", 1, word.length() + 1);
+
+                boolean applicable = transform.isApplicableTo(origin);
+
+                assertThat(applicable, equalTo(transform.isApplicableTo(word)));
+
+                if (applicable) {
+                    StringBuilder target = new StringBuilder();
+
+                    transform.applyTo(origin, target);
+
+                    assertThat(
+                            target.toString(),
+                            equalTo(transform.apply(word))
+                    );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void applyingToUtf8BuffersShouldMatchApply() {
+        for (SuffixTransform transform : TEST_TRANSFORMS) {
+            for (String word : TEST_WORDS) {
+                byte[] wordBytes = word.getBytes(StandardCharsets.UTF_8);
+
+                boolean applicable =
+                        transform.isApplicableToUtf8(ByteBuffer.wrap(wordBytes), 0, wordBytes.length);
+
+                assertThat(applicable, equalTo(transform.isApplicableTo(word)));
+
+                if (applicable) {
+                    assertThat(
+                            new String(applyToUtf8Slice(transform, word), StandardCharsets.UTF_8),
+                            equalTo(transform.apply(word))
+                    );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void utf8UmlautsShouldBeEncodedAsTwoBytes() {
+        assertThat(
+                applyToUtf8Slice(new SuffixTransform("", true, ""), "Hand"),
+                equalTo(new byte[]{'H', (byte) 0xC3, (byte) 0xA4, 'n', 'd'})
+        );
+    }
+
+
+    @Test
+    public void multiByteSuffixesShouldBeMatchedInUtf8Buffers() {
+        byte[] wordBytes = "Fuß".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(
+                new SuffixTransform("ß", false, "").isApplicableToUtf8(ByteBuffer.wrap(wordBytes), 0, wordBytes.length),
+                is(true)
+        );
+
+        assertThat(
+                new SuffixTransform("s", false, "").isApplicableToUtf8(ByteBuffer.wrap(wordBytes), 0, wordBytes.length),
+                is(false)
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyingToUnsuitableCharSequencesShouldFail() throws IOException {
+        new SuffixTransform("um", false, "en").applyTo(CharBuffer.wrap("Kind"), new StringBuilder());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyingToUnsuitableUtf8BuffersShouldFail() {
+        new SuffixTransform("um", false, "en").applyToUtf8(
+                ByteBuffer.wrap("Kind".getBytes(StandardCharsets.UTF_8)),
+                0,
+                4,
+                ByteBuffer.allocate(16)
+        );
+    }
+}
@@ -21,6 +21,7 @@
 package info.gianlucacosta.balmung.transform.extensive;
 
 import info.gianlucacosta.balmung.transform.TransformTestBase;
+import info.gianlucacosta.balmung.transform.util.CompactWord;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -219,6 +220,54 @@ public class SuffixTransformTest extends TransformTestBase<SuffixTransform> {
     }
 
 
+    @Test
+    public void applyingUmlautShouldAffectTheLastVowelSupportingIt() {
+        SuffixTransform suffixTransform =
+                new SuffixTransform(
+                        "",
+                        true,
+                        "e"
+                );
+
+        assertThat(
+                suffixTransform.apply("Kanal"),
+                equalTo("Kanäle")
+        );
+    }
+
+
+    @Test
+    public void applyingUmlautShouldNotAffectTheRemovedSuffix() {
+        SuffixTransform suffixTransform =
+                new SuffixTransform(
+                        "us",
+                        true,
+                        "en"
+                );
+
+        assertThat(
+                suffixTransform.apply("Globus"),
+                equalTo("Glöben")
+        );
+    }
+
+
+    @Test
+    public void applyingUmlautWithoutVowelsSupportingItShouldOnlyHandleSuffixes() {
+        SuffixTransform suffixTransform =
+                new SuffixTransform(
+                        "",
+                        true,
+                        "er"
+                );
+
+        assertThat(
+                suffixTransform.apply("Kind"),
+                equalTo("Kinder")
+        );
+    }
+
+
     @Test
     public void toStringForidentityTransformShouldWork() {
         SuffixTransform suffixTransform =
@@ -329,4 +378,31 @@ public class SuffixTransformTest extends TransformTestBase<SuffixTransform> {
                 equalTo("-ch ⇒ ⸚her")
         );
     }
+
+
+    @Test
+    public void applyToCompactWordShouldMatchStringApply() {
+        SuffixTransform suffixTransform =
+                new SuffixTransform("", true, "er");
+
+        assertThat(
+                suffixTransform.apply(CompactWord.of("Buch")),
+                equalTo(CompactWord.of(suffixTransform.apply("Buch")))
+        );
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyToCompactWordShouldFailOnMismatchingSuffix() {
+        new SuffixTransform("en", false, "").apply(CompactWord.of("Tisch"));
+    }
+
+
+    @Test
+    public void computeOnCompactWordsShouldMatchStringCompute() {
+        assertThat(
+                SuffixTransform.compute(CompactWord.of("Mann"), CompactWord.of("Männer")),
+                equalTo(SuffixTransform.compute("Mann", "Männer"))
+        );
+    }
 }
@@ -0,0 +1,86 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CharClassTest {
+    @Test
+    public void vowelFlagsShouldMatchTheVowelSets() {
+        for (int code = Character.MIN_VALUE; code <= Character.MAX_VALUE; code++) {
+            char c = (char) code;
+
+            assertThat(CharClass.test(c, CharClass.PLAIN_VOWEL), equalTo(Vowels.PLAIN_VOWELS.contains(c)));
+            assertThat(CharClass.test(c, CharClass.UMLAUT_VOWEL), equalTo(Vowels.UMLAUT_VOWELS.contains(c)));
+            assertThat(CharClass.test(c, CharClass.VOWEL), equalTo(Vowels.VOWELS.contains(c)));
+        }
+    }
+
+
+    @Test
+    public void umlautableFlagShouldOnlyBeSetForAOU() {
+        for (int code = Character.MIN_VALUE; code <= Character.MAX_VALUE; code++) {
+            char c = (char) code;
+
+            assertThat(
+                    CharClass.test(c, CharClass.UMLAUTABLE),
+                    equalTo("AOUaou".indexOf(c) >= 0)
+            );
+        }
+    }
+
+
+    @Test
+    public void uppercaseFlagShouldBeSetWithinTheTable() {
+        assertThat(CharClass.test('Ä', CharClass.UPPERCASE), is(true));
+        assertThat(CharClass.test('Ł', CharClass.UPPERCASE), is(true));
+        assertThat(CharClass.test('ä', CharClass.UPPERCASE), is(false));
+        assertThat(CharClass.test('ß', CharClass.UPPERCASE), is(false));
+    }
+
+
+    @Test
+    public void charsBeyondTheTableShouldHaveNoFlags() {
+        assertThat(CharClass.of('Ω'), equalTo(0));
+    }
+
+
+    @Test
+    public void masksShouldCombineFlags() {
+        int mask = CharClass.UMLAUT_VOWEL | CharClass.UPPERCASE;
+
+        assertThat(CharClass.test('B', mask), is(true));
+        assertThat(CharClass.test('ö', mask), is(true));
+        assertThat(CharClass.test('o', mask), is(false));
+    }
+
+
+    @Test
+    public void isUmlautAddedShouldAcceptEveryCaseCombination() {
+        assertThat(Vowels.isUmlautAdded('a', 'Ä'), is(true));
+        assertThat(Vowels.isUmlautAdded('U', 'ü'), is(true));
+        assertThat(Vowels.isUmlautAdded('O', 'ä'), is(false));
+    }
+}
@@ -0,0 +1,136 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+
+public class CompactWordTest {
+    @Test
+    public void germanWordsShouldBeLatin1() {
+        CompactWord word = CompactWord.of("Straßenbäume");
+
+        assertThat(word.isLatin1(), equalTo(true));
+        assertThat(word.toString(), equalTo("Straßenbäume"));
+        assertThat(word.length(), equalTo(12));
+        assertThat(word.charAt(4), equalTo('ß'));
+    }
+
+
+    @Test
+    public void exoticWordsShouldFallBackToUtf16() {
+        CompactWord word = CompactWord.of("Łódź");
+
+        assertThat(word.isLatin1(), equalTo(false));
+        assertThat(word.toString(), equalTo("Łódź"));
+        assertThat(word.charAt(3), equalTo('ź'));
+    }
+
+
+    @Test
+    public void hashCodeShouldMatchTheStringOne() {
+        assertThat(CompactWord.of("Mädchen").hashCode(), equalTo("Mädchen".hashCode()));
+        assertThat(CompactWord.of("Łódź").hashCode(), equalTo("Łódź".hashCode()));
+    }
+
+
+    @Test
+    public void equalsShouldDependOnContent() {
+        assertThat(CompactWord.of("Haus"), equalTo(CompactWord.of(new StringBuilder("Haus"))));
+        assertThat(CompactWord.of("Haus"), not(equalTo(CompactWord.of("Maus"))));
+    }
+
+
+    @Test
+    public void startsWithAndEndsWithShouldWork() {
+        CompactWord word = CompactWord.of("Kindergarten");
+
+        assertThat(word.startsWith("Kinder"), equalTo(true));
+        assertThat(word.startsWith(CompactWord.of("Kinder")), equalTo(true));
+        assertThat(word.endsWith("garten"), equalTo(true));
+        assertThat(word.endsWith(CompactWord.of("Garten")), equalTo(false));
+        assertThat(word.endsWith("Der Kindergarten"), equalTo(false));
+    }
+
+
+    @Test
+    public void replaceSuffixShouldWork() {
+        assertThat(
+                CompactWord.of("Tisch").replaceSuffix(5, "e").toString(),
+                equalTo("Tische")
+        );
+
+        assertThat(
+                CompactWord.of("Museum").replaceSuffix(4, "en").toString(),
+                equalTo("Museen")
+        );
+    }
+
+
+    @Test
+    public void replaceSuffixShouldSwitchEncodingWhenNeeded() {
+        CompactWord widened =
+                CompactWord.of("Mann").replaceSuffix(4, "Ł");
+
+        assertThat(widened.isLatin1(), equalTo(false));
+        assertThat(widened.toString(), equalTo("MannŁ"));
+
+        CompactWord narrowed =
+                widened.replaceSuffix(4, "er");
+
+        assertThat(narrowed.isLatin1(), equalTo(true));
+        assertThat(narrowed, equalTo(CompactWord.of("Manner")));
+    }
+
+
+    @Test
+    public void withCharAtShouldReturnSameInstanceForSameChar() {
+        CompactWord word = CompactWord.of("Haus");
+
+        assertThat(word.withCharAt(1, 'a'), sameInstance(word));
+        assertThat(word.withCharAt(1, 'ä').toString(), equalTo("Häus"));
+    }
+
+
+    @Test
+    public void compareToShouldFollowStringOrdering() {
+        assertThat(
+                Integer.signum(CompactWord.of("Apfel").compareTo(CompactWord.of("Äpfel"))),
+                equalTo(Integer.signum("Apfel".compareTo("Äpfel")))
+        );
+
+        assertThat(
+                Integer.signum(CompactWord.of("Haus").compareTo(CompactWord.of("Hausen"))),
+                equalTo(-1)
+        );
+    }
+
+
+    @Test
+    public void subSequenceShouldWork() {
+        assertThat(CompactWord.of("Haustür").subSequence(4, 7).toString(), equalTo("tür"));
+    }
+}
@@ -90,4 +90,32 @@ public class ConversionsTest {
                 equalTo(testList)
         );
     }
+
+
+    @Test
+    public void charStreamRoundTripShouldWork() {
+        String retrievedString =
+                Conversions.charStreamToString(
+                        Conversions.stringToCharStream(testString)
+                );
+
+        assertThat(
+                retrievedString,
+                equalTo(testString)
+        );
+    }
+
+
+    @Test
+    public void parallelCharStreamToStringShouldKeepOrder() {
+        String retrievedString =
+                Conversions.charStreamToString(
+                        Conversions.stringToCharStream(testString).parallel()
+                );
+
+        assertThat(
+                retrievedString,
+                equalTo(testString)
+        );
+    }
 }
@@ -0,0 +1,165 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class SegmentedLruCacheTest {
+    @Test
+    public void cachedValuesShouldBeComputedOnce() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(16);
+
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(
+                    cache.get("Haus", key -> {
+                        loadCount.incrementAndGet();
+                        return key.length();
+                    }),
+                    equalTo(4)
+            );
+        }
+
+        assertThat(loadCount.get(), equalTo(1));
+
+        assertThat(
+                cache.getStatistics(),
+                equalTo(new CacheStatistics(4, 1, 0))
+        );
+    }
+
+
+    @Test
+    public void leastRecentlyUsedEntriesShouldBeEvicted() {
+        SegmentedLruCache<Integer, Integer> cache = new SegmentedLruCache<>(2, 1);
+
+        cache.get(1, key -> key);
+        cache.get(2, key -> key);
+        cache.get(1, key -> key);
+        cache.get(3, key -> key);
+
+        AtomicInteger loadCount = new AtomicInteger();
+
+        cache.get(1, key -> loadCount.incrementAndGet());
+        cache.get(2, key -> loadCount.incrementAndGet());
+
+        assertThat(loadCount.get(), equalTo(1));
+        assertThat(cache.getStatistics().getEvictionCount(), equalTo(2L));
+    }
+
+
+    @Test
+    public void sizeShouldNeverExceedTheMaxSize() {
+        SegmentedLruCache<Integer, Integer> cache = new SegmentedLruCache<>(100, 4);
+
+        IntStream
+                .range(0, 100_000)
+                .parallel()
+                .forEach(i -> cache.get(i % 1000, key -> key));
+
+        assertThat(cache.size(), equalTo(100L));
+
+        assertThat(cache.getStatistics().getRequestCount(), equalTo(100_000L));
+    }
+
+
+    @Test
+    public void failedComputationsShouldNotBeCached() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(16);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get("Haus", key -> {
+                    throw new IllegalArgumentException();
+                });
+            } catch (IllegalArgumentException ex) {
+                //Just as expected
+            }
+        }
+
+        assertThat(cache.size(), equalTo(0L));
+        assertThat(cache.getStatistics().getMissCount(), equalTo(2L));
+    }
+
+
+    @Test
+    public void oneOffKeysShouldNotEvictProtectedEntries() {
+        SegmentedLruCache<Integer, Integer> cache = new SegmentedLruCache<>(10, 1);
+
+        for (int round = 0; round < 2; round++) {
+            for (int key = 0; key < 4; key++) {
+                cache.get(key, Integer::valueOf);
+            }
+        }
+
+        for (int key = 100; key < 1000; key++) {
+            cache.get(key, Integer::valueOf);
+        }
+
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int key = 0; key < 4; key++) {
+            cache.get(key, missingKey -> loadCount.incrementAndGet());
+        }
+
+        assertThat(loadCount.get(), equalTo(0));
+        assertThat(cache.size(), equalTo(10L));
+    }
+
+
+    @Test
+    public void totalWeightShouldNeverExceedTheMaxWeight() {
+        SegmentedLruCache<String, String> cache =
+                new SegmentedLruCache<>(10, 1, (key, value) -> value.length());
+
+        for (String word : new String[]{"Haus", "Baum", "Ei", "Hund", "Katze", "Ei"}) {
+            cache.get(word, key -> key);
+
+            assertThat(cache.getWeight() <= 10, equalTo(true));
+        }
+
+        assertThat(cache.getWeight(), equalTo(7L));
+        assertThat(cache.getStatistics().getEvictionCount(), equalTo(4L));
+    }
+
+
+    @Test
+    public void entriesHeavierThanTheMaxWeightShouldNotBeCached() {
+        SegmentedLruCache<String, String> cache =
+                new SegmentedLruCache<>(4, 1, (key, value) -> value.length());
+
+        assertThat(cache.get("Kreuzung", key -> key), equalTo("Kreuzung"));
+        assertThat(cache.size(), equalTo(0L));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stripesCountShouldBeAPowerOf2() {
+        new SegmentedLruCache<String, String>(100, 3);
+    }
+}
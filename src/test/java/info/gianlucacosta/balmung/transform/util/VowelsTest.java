@@ -420,5 +420,92 @@ public class VowelsTest {
                 is(false)
         );
     }
-}
 
+
+    @Test
+    public void lastIndexOfUmlautableShouldScanBackwards() {
+        String compound = "Straßenbahnhaltestelle";
+
+        assertThat(
+                Vowels.lastIndexOfUmlautable(compound, 0, compound.length()),
+                equalTo(12)
+        );
+
+        assertThat(
+                Vowels.lastIndexOfUmlautable(compound.toCharArray(), 0, 12),
+                equalTo(8)
+        );
+    }
+
+
+    @Test
+    public void lastIndexOfUmlautableShouldFailWhenMissing() {
+        assertThat(
+                Vowels.lastIndexOfUmlautable("Präsidiumsmitglied", 0, 6),
+                equalTo(-1)
+        );
+    }
+
+
+    @Test
+    public void indexOfVowelShouldIncludeUmlautVowels() {
+        assertThat(
+                Vowels.indexOfVowel("Schlüssel", 0, 9),
+                equalTo(4)
+        );
+
+        assertThat(
+                Vowels.indexOfVowel("Schlüssel".toCharArray(), 5, 7),
+                equalTo(-1)
+        );
+    }
+
+
+    @Test
+    public void countVowelsShouldWork() {
+        assertThat(
+                Vowels.countVowels("Überseehafenstädte", 0, 18),
+                equalTo(8)
+        );
+
+        assertThat(
+                Vowels.countVowels("Überseehafenstädte".toCharArray(), 1, 7),
+                equalTo(3)
+        );
+    }
+
+
+    @Test
+    public void vowelMaskShouldMapVowelsToBits() {
+        assertThat(
+                Vowels.vowelMask("Bär", 0),
+                equalTo(0b010L)
+        );
+
+        assertThat(
+                Vowels.vowelMask("XBäre".toCharArray(), 1),
+                equalTo(0b1010L)
+        );
+    }
+
+
+    @Test
+    public void vowelMaskShouldCoverUpTo64Chars() {
+        StringBuilder vowels = new StringBuilder();
+
+        for (int i = 0; i < 70; i++) {
+            vowels.append('a');
+        }
+
+        assertThat(
+                Vowels.vowelMask(vowels, 0),
+                equalTo(-1L)
+        );
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void scanningOutOfRangeShouldFail() {
+        Vowels.countVowels("Bär", 0, 4);
+    }
+}
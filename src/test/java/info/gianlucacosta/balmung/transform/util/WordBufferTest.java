@@ -0,0 +1,114 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+
+public class WordBufferTest {
+    @Test
+    public void removeSuffixShouldWorkWhenMatching() {
+        WordBuffer buffer = new WordBuffer("Tische");
+
+        assertThat(buffer.removeSuffix("e"), equalTo(true));
+        assertThat(buffer.toString(), equalTo("Tisch"));
+    }
+
+
+    @Test
+    public void removeSuffixShouldLeaveBufferWhenNotMatching() {
+        WordBuffer buffer = new WordBuffer("Tisch");
+
+        assertThat(buffer.removeSuffix("en"), equalTo(false));
+        assertThat(buffer.toString(), equalTo("Tisch"));
+    }
+
+
+    @Test
+    public void appendSuffixShouldGrowTheBuffer() {
+        WordBuffer buffer = new WordBuffer(2);
+
+        buffer
+                .appendSuffix("Kind")
+                .appendSuffix("er")
+                .appendSuffix("garten");
+
+        assertThat(buffer.toString(), equalTo("Kindergarten"));
+        assertThat(buffer.length(), equalTo(12));
+    }
+
+
+    @Test
+    public void replaceAtShouldWork() {
+        WordBuffer buffer = new WordBuffer("Mann");
+
+        buffer.replaceAt(1, 'ä');
+
+        assertThat(buffer.toString(), equalTo("Männ"));
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void replaceAtShouldFailBeyondLength() {
+        WordBuffer buffer = new WordBuffer(16);
+
+        buffer.append("ab");
+        buffer.replaceAt(2, 'c');
+    }
+
+
+    @Test
+    public void lastIndexOfUmlautableShouldWork() {
+        WordBuffer buffer = new WordBuffer("Haustür");
+
+        assertThat(buffer.lastIndexOfUmlautable(buffer.length()), equalTo(2));
+        assertThat(buffer.lastIndexOfUmlautable(2), equalTo(1));
+    }
+
+
+    @Test
+    public void setShouldReplaceContent() {
+        WordBuffer buffer = new WordBuffer("Haus");
+
+        buffer.set("Baum");
+
+        assertThat(buffer.toString(), equalTo("Baum"));
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void appendingBeyondAWordBufferLengthShouldFail() {
+        WordBuffer source = new WordBuffer(16);
+
+        source.append("abc");
+
+        new WordBuffer(16).append(source, 0, 10);
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void appendingAReversedRangeShouldFail() {
+        new WordBuffer(16).append(new StringBuilder("abc"), 2, 1);
+    }
+}
@@ -0,0 +1,77 @@
+/*^
+  ===========================================================================
+  Balmung
+  ===========================================================================
+  Copyright (C) 2017 Gianluca Costa
+  ===========================================================================
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+  ===========================================================================
+*/
+
+package info.gianlucacosta.balmung.transform.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class WordNormalizerTest {
+    @Test
+    public void asciiAndLatin1WordsShouldTakeTheFastPath() {
+        assertThat(WordNormalizer.isFastPath("Haus"), equalTo(true));
+        assertThat(WordNormalizer.isFastPath("Straßenbäume"), equalTo(true));
+        assertThat(WordNormalizer.isFastPath(new StringBuilder("Öl")), equalTo(true));
+    }
+
+
+    @Test
+    public void combiningMarksShouldTakeTheSlowPath() {
+        assertThat(WordNormalizer.isFastPath("Häuser"), equalTo(false));
+    }
+
+
+    @Test
+    public void fastPathWordsShouldBeReturnedAsTheyAre() {
+        WordNormalizer normalizer = new WordNormalizer();
+
+        String word = "Häuser";
+
+        assertThat(normalizer.normalize(word), sameInstance(word));
+        assertThat(normalizer.getStatistics(), equalTo(new NormalizationStatistics(1, 0, 0)));
+    }
+
+
+    @Test
+    public void decomposedWordsShouldBeComposed() {
+        WordNormalizer normalizer = new WordNormalizer();
+
+        assertThat(normalizer.normalize("Häuser"), equalTo("Häuser"));
+        assertThat(normalizer.getStatistics(), equalTo(new NormalizationStatistics(0, 1, 1)));
+    }
+
+
+    @Test
+    public void alreadyComposedExoticWordsShouldOnlyCountAsSlowPath() {
+        WordNormalizer normalizer = new WordNormalizer();
+
+        String word = "Пушкин";
+
+        assertThat(normalizer.normalize(word), sameInstance(word));
+        assertThat(normalizer.getStatistics(), equalTo(new NormalizationStatistics(0, 1, 0)));
+
+        normalizer.resetStatistics();
+
+        assertThat(normalizer.getStatistics().getRequestCount(), equalTo(0L));
+    }
+}